@@ -6,6 +6,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 
 @SpringBootApplication
 @EnableAsync
+@org.springframework.scheduling.annotation.EnableScheduling
 @org.springframework.cache.annotation.EnableCaching
 public class BuildexApplication {
     public static void main(String[] args) {
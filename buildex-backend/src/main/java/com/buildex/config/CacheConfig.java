@@ -0,0 +1,68 @@
+package com.buildex.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Bounded Caffeine caches for every cache region.
+ * Each region has its own max weight and TTL (app.cache.&lt;region&gt;.max-weight / .ttl) and records
+ * hit/miss/eviction statistics, exposed through /api/admin/caches.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String PROPERTY_DETAILS = "property_details";
+    public static final String PROPERTIES_LIST = "properties_list";
+    public static final String PROPERTIES_SEARCH = "properties_search";
+    public static final String CITIES = "cities";
+
+    // Page and list values weigh one per element, so a region's max weight is roughly the
+    // number of summary rows it may hold.
+    private static final Map<String, CacheSpec> DEFAULTS = Map.of(
+            PROPERTY_DETAILS, new CacheSpec(2_000L, Duration.ofMinutes(10)),
+            PROPERTIES_LIST, new CacheSpec(5_000L, Duration.ofMinutes(5)),
+            PROPERTIES_SEARCH, new CacheSpec(20_000L, Duration.ofMinutes(2)),
+            CITIES, new CacheSpec(1_000L, Duration.ofMinutes(30)));
+
+    @Bean
+    public CacheManager cacheManager(Environment env) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Unknown region names fail fast instead of silently getting an unbounded cache
+        cacheManager.setCacheNames(DEFAULTS.keySet());
+        DEFAULTS.forEach((name, defaults) -> {
+            long maxWeight = env.getProperty("app.cache." + name + ".max-weight", Long.class, defaults.maxWeight());
+            Duration ttl = env.getProperty("app.cache." + name + ".ttl", Duration.class, defaults.ttl());
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                    .maximumWeight(maxWeight)
+                    .weigher((Object key, Object value) -> weigh(value))
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build());
+        });
+        return cacheManager;
+    }
+
+    private static int weigh(Object value) {
+        if (value instanceof java.util.Optional<?> optional) {
+            value = optional.orElse(null);
+        }
+        if (value instanceof org.springframework.data.domain.Slice<?> slice) {
+            return 1 + slice.getNumberOfElements();
+        }
+        if (value instanceof Collection<?> collection) {
+            return 1 + collection.size();
+        }
+        return 1;
+    }
+
+    private record CacheSpec(long maxWeight, Duration ttl) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.buildex.config;
+
+import com.buildex.dto.PropertySummaryDTO;
+import com.buildex.entity.PropertyStats;
+import com.buildex.repository.PropertyStatsRepository;
+import com.buildex.service.PropertyService;
+import com.buildex.service.catalog.CatalogSort;
+import com.buildex.service.catalog.RangeFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Warms the caches and the JIT before the app reports ready.
+ *
+ * Runs as the last startup runner. Spring Boot only switches readiness to ACCEPTING_TRAFFIC once
+ * the runners return, and /health answers 503 until then, so Render keeps sending users to the
+ * previous instance meanwhile. Loads the catalog, the first listing pages, the city list and the
+ * details of the currently most viewed properties, then repeats the catalog search and JSON
+ * serialization paths until the JIT has compiled them. Stops waiting once the time budget is
+ * used up; whatever is left finishes in the background.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CacheWarmup implements CommandLineRunner {
+
+    private static final int JIT_ITERATIONS = 20_000; // Comfortably past the C2 compile thresholds
+
+    private final PropertyService propertyService;
+    private final PropertyStatsRepository propertyStatsRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.budget-ms:45000}")
+    private long budgetMs;
+
+    @Value("${app.warmup.list-pages:5}")
+    private int listPages;
+
+    @Value("${app.warmup.list-page-size:10}") // GET /api/properties default
+    private int listPageSize;
+
+    @Value("${app.warmup.details:50}")
+    private int details;
+
+    public CacheWarmup(PropertyService propertyService, PropertyStatsRepository propertyStatsRepository,
+            ObjectMapper objectMapper) {
+        this.propertyService = propertyService;
+        this.propertyStatsRepository = propertyStatsRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (!enabled) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + budgetMs;
+        Thread worker = new Thread(() -> warm(deadline), "cache-warmup");
+        worker.setDaemon(true);
+        worker.start();
+        worker.join(budgetMs);
+        if (worker.isAlive()) {
+            System.out.println("Warmup budget of " + budgetMs + "ms used up; reporting ready while it finishes");
+        }
+    }
+
+    private void warm(long deadline) {
+        long start = System.currentTimeMillis();
+        System.out.println("Warming up caches...");
+
+        // Loads the catalog on the way
+        List<Page<PropertySummaryDTO>> pages = new ArrayList<>();
+        try {
+            for (int page = 0; page < listPages; page++) {
+                Page<PropertySummaryDTO> listing = propertyService.getAllPropertiesSummaries(page, listPageSize);
+                pages.add(listing);
+                if (!listing.hasNext()) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Warmup of listing pages failed: " + e.getMessage());
+        }
+
+        List<String> cities = List.of();
+        try {
+            cities = propertyService.getAllCities();
+        } catch (RuntimeException e) {
+            System.err.println("Warmup of cities failed: " + e.getMessage());
+        }
+
+        int detailCount = 0;
+        if (details > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                List<Long> ids = propertyStatsRepository
+                        .findByOrderByTrendingScoreDesc(PageRequest.of(0, Math.min(details, PropertyService.MAX_BATCH_IDS)))
+                        .stream()
+                        .map(PropertyStats::getPropertyId)
+                        .toList();
+                if (!ids.isEmpty()) {
+                    detailCount = propertyService.getPropertyDetails(ids).size();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Warmup of property details failed: " + e.getMessage());
+            }
+        }
+
+        int iterations = 0;
+        try {
+            iterations = exerciseHotPaths(deadline, pages.isEmpty() ? null : pages.get(0), cities);
+        } catch (Exception e) {
+            System.err.println("Warmup of search and serialization failed: " + e.getMessage());
+        }
+
+        System.out.println("Warmup done in " + (System.currentTimeMillis() - start) + "ms: " + pages.size()
+                + " listing pages, " + cities.size() + " cities, " + detailCount + " property details, "
+                + iterations + " search/serialization rounds");
+    }
+
+    // Runs the request-time work of the listing and search endpoints without touching the caches
+    private int exerciseHotPaths(long deadline, Page<PropertySummaryDTO> firstPage, List<String> cities)
+            throws Exception {
+        String city = cities.isEmpty() ? null : cities.get(0);
+        int round = 0;
+        for (; round < JIT_ITERATIONS && System.currentTimeMillis() < deadline; round++) {
+            if (firstPage != null) {
+                objectMapper.writeValueAsBytes(firstPage);
+            }
+            objectMapper.writeValueAsBytes(propertyService.searchPropertiesSummariesRanged(
+                    null, null, round % 2 == 0 ? city : null, null, null, null,
+                    RangeFilter.NONE, CatalogSort.NEWEST, 0, listPageSize));
+            if (round % 10 == 0) {
+                objectMapper.writeValueAsBytes(propertyService.getFacets(null, null, city, null, null, null));
+                objectMapper.writeValueAsBytes(cities);
+            }
+        }
+        return round;
+    }
+}
@@ -0,0 +1,89 @@
+package com.buildex.config;
+
+import com.buildex.service.SearchMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Search columns (lowercased copies + tsvector), the triggers keeping them current, and their
+ * trigram and full-text indexes, needed by the Postgres search path.
+ *
+ * Runs only with app.search.mode=postgres, on its own rather than as part of SchemaFixer, so a
+ * failing legacy fix can never skip it. Every statement is idempotent, so it runs on each start.
+ */
+@Component
+@Order(2) // After SchemaFixer, before DataSeeder
+public class SearchSchema implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.mode:catalog}")
+    private SearchMode searchMode;
+
+    public SearchSchema(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (searchMode != SearchMode.POSTGRES) {
+            return;
+        }
+        System.out.println("Ensuring property search columns and indexes...");
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("ALTER TABLE properties ADD COLUMN IF NOT EXISTS title_norm TEXT");
+            jdbcTemplate.execute("ALTER TABLE properties ADD COLUMN IF NOT EXISTS city_norm TEXT");
+            jdbcTemplate.execute("ALTER TABLE properties ADD COLUMN IF NOT EXISTS area_norm TEXT");
+            jdbcTemplate.execute("ALTER TABLE properties ADD COLUMN IF NOT EXISTS builder_name_norm TEXT");
+            jdbcTemplate.execute("ALTER TABLE properties ADD COLUMN IF NOT EXISTS search_document TSVECTOR");
+            // Kept up to date on every insert/update of a property (builder name is looked up from users)
+            jdbcTemplate.execute(
+                    "CREATE OR REPLACE FUNCTION properties_search_refresh() RETURNS trigger AS $$ " +
+                    "DECLARE b_company TEXT; b_full TEXT; " +
+                    "BEGIN " +
+                    "  SELECT company_name, full_name INTO b_company, b_full FROM users WHERE id = NEW.builder_id; " +
+                    "  NEW.title_norm := lower(NEW.title); " +
+                    "  NEW.city_norm := lower(NEW.city); " +
+                    "  NEW.area_norm := lower(NEW.area); " +
+                    // Newline separator so a LIKE needle can never match across the two names
+                    "  NEW.builder_name_norm := lower(concat_ws(E'\\n', b_company, b_full)); " +
+                    "  NEW.search_document := " +
+                    "    setweight(to_tsvector('english', coalesce(NEW.title, '')), 'A') || " +
+                    "    setweight(to_tsvector('english', concat_ws(' ', NEW.city, NEW.area, b_company, b_full)), 'B') || " +
+                    "    setweight(to_tsvector('english', coalesce(NEW.description, '')), 'C'); " +
+                    "  RETURN NEW; " +
+                    "END $$ LANGUAGE plpgsql");
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_properties_search_refresh ON properties");
+            jdbcTemplate.execute(
+                    "CREATE TRIGGER trg_properties_search_refresh BEFORE INSERT OR UPDATE ON properties " +
+                    "FOR EACH ROW EXECUTE FUNCTION properties_search_refresh()");
+            // Renaming a builder re-runs the trigger above for their properties
+            jdbcTemplate.execute(
+                    "CREATE OR REPLACE FUNCTION users_builder_name_refresh() RETURNS trigger AS $$ " +
+                    "BEGIN " +
+                    "  IF NEW.company_name IS DISTINCT FROM OLD.company_name OR NEW.full_name IS DISTINCT FROM OLD.full_name THEN " +
+                    "    UPDATE properties SET builder_id = builder_id WHERE builder_id = NEW.id; " +
+                    "  END IF; " +
+                    "  RETURN NEW; " +
+                    "END $$ LANGUAGE plpgsql");
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS trg_users_builder_name_refresh ON users");
+            jdbcTemplate.execute(
+                    "CREATE TRIGGER trg_users_builder_name_refresh AFTER UPDATE ON users " +
+                    "FOR EACH ROW EXECUTE FUNCTION users_builder_name_refresh()");
+            jdbcTemplate.execute("UPDATE properties SET builder_id = builder_id WHERE search_document IS NULL");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_property_title_trgm ON properties USING GIN (title_norm gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_property_city_trgm ON properties USING GIN (city_norm gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_property_area_trgm ON properties USING GIN (area_norm gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_property_builder_name_trgm ON properties USING GIN (builder_name_norm gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_property_search_document ON properties USING GIN (search_document)");
+            System.out.println("Property search schema is up to date.");
+        } catch (Exception e) {
+            // Startup goes on, but Postgres search queries will fail until this succeeds
+            System.err.println("Property search schema could not be created: " + e.getMessage());
+        }
+    }
+}
@@ -5,10 +5,17 @@ import com.buildex.entity.Payment;
 import com.buildex.entity.Withdrawal;
 import com.buildex.repository.ComplaintRepository;
 import com.buildex.repository.PaymentRepository;
+import com.buildex.repository.PropertyRepository;
 import com.buildex.repository.WithdrawalRepository;
+import com.buildex.service.PropertyService;
+import com.buildex.service.SearchAnalytics;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,12 +27,21 @@ public class AdminController {
     private final ComplaintRepository complaintRepository;
     private final PaymentRepository paymentRepository;
     private final WithdrawalRepository withdrawalRepository;
+    private final PropertyRepository propertyRepository;
+    private final CacheManager cacheManager;
+    private final PropertyService propertyService;
+    private final SearchAnalytics searchAnalytics;
 
     public AdminController(ComplaintRepository complaintRepository, PaymentRepository paymentRepository,
-            WithdrawalRepository withdrawalRepository) {
+            WithdrawalRepository withdrawalRepository, PropertyRepository propertyRepository,
+            CacheManager cacheManager, PropertyService propertyService, SearchAnalytics searchAnalytics) {
         this.complaintRepository = complaintRepository;
         this.paymentRepository = paymentRepository;
         this.withdrawalRepository = withdrawalRepository;
+        this.propertyRepository = propertyRepository;
+        this.cacheManager = cacheManager;
+        this.propertyService = propertyService;
+        this.searchAnalytics = searchAnalytics;
     }
 
     @GetMapping("/complaints")
@@ -71,4 +87,64 @@ public class AdminController {
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    // One-off: fill properties.thumbnail_url for rows saved before the column existed
+    @PostMapping("/maintenance/backfill-thumbnails")
+    public ResponseEntity<?> backfillThumbnails() {
+        int updated = propertyRepository.backfillThumbnails();
+        return ResponseEntity.ok(Map.of("success", true, "updated", updated));
+    }
+
+    // Per-region cache statistics (since startup) for measuring cache efficiency
+    @GetMapping("/caches")
+    public ResponseEntity<List<Map<String, Object>>> getCacheStats() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache cache)) {
+                continue;
+            }
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = cache.getNativeCache();
+            com.github.benmanes.caffeine.cache.stats.CacheStats stats = nativeCache.stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", name);
+            entry.put("size", nativeCache.estimatedSize());
+            nativeCache.policy().eviction().ifPresent(eviction -> {
+                eviction.weightedSize().ifPresent(weight -> entry.put("weight", weight));
+                entry.put("maxWeight", eviction.getMaximum());
+            });
+            entry.put("hits", stats.hitCount());
+            entry.put("misses", stats.missCount());
+            entry.put("hitRate", stats.hitRate());
+            entry.put("evictions", stats.evictionCount());
+            entry.put("evictedWeight", stats.evictionWeight());
+            result.add(entry);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    // How many cache-miss loads ran vs. were served by joining an identical in-flight load
+    @GetMapping("/caches/coalescing")
+    public ResponseEntity<List<Map<String, Object>>> getLoadCoalescingStats() {
+        return ResponseEntity.ok(propertyService.getLoadCoalescingStats());
+    }
+
+    // Most frequent property searches lately (approximate counts) with their cache hit rates
+    @GetMapping("/searches")
+    public ResponseEntity<?> getPopularSearches(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(searchAnalytics.getReport(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/caches/{name}")
+    public ResponseEntity<?> invalidateCache(@PathVariable String name) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        cache.invalidate();
+        return ResponseEntity.ok(Map.of("success", true, "message", "Cache " + name + " invalidated"));
+    }
 }
@@ -0,0 +1,47 @@
+package com.buildex.controller;
+
+import com.buildex.service.EventHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EventController {
+
+    private final EventHub eventHub;
+
+    // Live updates: enquiries, rent requests and complaints for a builder's dashboard,
+    // availability changes for the listed properties. Use with EventSource.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> stream(
+            @RequestParam(required = false) Long builderId,
+            @RequestParam(required = false) List<Long> propertyIds) {
+        List<String> topics = new ArrayList<>();
+        if (builderId != null) {
+            topics.add(EventHub.builderTopic(builderId));
+        }
+        if (propertyIds != null) {
+            propertyIds.stream().distinct().forEach(id -> topics.add(EventHub.propertyTopic(id)));
+        }
+        try {
+            return ResponseEntity.ok(eventHub.subscribe(topics));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(Collections.singletonMap("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON)
+                    .body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.buildex.controller;
 
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -7,8 +10,18 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 public class HealthController {
 
+    private final ApplicationAvailability availability;
+
+    public HealthController(ApplicationAvailability availability) {
+        this.availability = availability;
+    }
+
+    // 503 until startup (including the cache warmup) has finished, so deploys only switch over when ready
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
+        if (availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Buildex Backend is warming up");
+        }
         return ResponseEntity.ok("Buildex Backend is Running!");
     }
 
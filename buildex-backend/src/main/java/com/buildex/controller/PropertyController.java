@@ -4,13 +4,19 @@ import com.buildex.entity.Property;
 import com.buildex.entity.User;
 import com.buildex.repository.UserRepository;
 import com.buildex.service.PropertyService;
+import com.buildex.service.PropertyVersions;
+import com.buildex.service.SearchAnalytics;
+import com.buildex.service.catalog.CatalogSort;
+import com.buildex.service.catalog.RangeFilter;
 import com.buildex.service.impl.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import java.net.URI;
 import java.util.ArrayList;
@@ -18,6 +24,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import com.buildex.dto.CursorPageDTO;
+import com.buildex.dto.PropertyDetailDTO;
+import com.buildex.dto.PropertyFacetsDTO;
 import com.buildex.dto.PropertySummaryDTO;
 
 @RestController
@@ -29,13 +38,21 @@ public class PropertyController {
     private final FileStorageService fileStorageService;
     private final UserRepository userRepository;
     private final com.buildex.service.CloudinaryService cloudinaryService;
+    private final PropertyVersions propertyVersions;
+    private final com.buildex.service.PropertyViewStats viewStats;
+    private final SearchAnalytics searchAnalytics;
 
     public PropertyController(PropertyService propertyService, FileStorageService fileStorageService,
-            UserRepository userRepository, com.buildex.service.CloudinaryService cloudinaryService) {
+            UserRepository userRepository, com.buildex.service.CloudinaryService cloudinaryService,
+            PropertyVersions propertyVersions, com.buildex.service.PropertyViewStats viewStats,
+            SearchAnalytics searchAnalytics) {
         this.propertyService = propertyService;
         this.fileStorageService = fileStorageService;
         this.userRepository = userRepository;
         this.cloudinaryService = cloudinaryService;
+        this.propertyVersions = propertyVersions;
+        this.viewStats = viewStats;
+        this.searchAnalytics = searchAnalytics;
     }
 
     @PostMapping("/builder/{userId}")
@@ -92,8 +109,27 @@ public class PropertyController {
     @GetMapping
     public ResponseEntity<org.springframework.data.domain.Page<PropertySummaryDTO>> getAllProperties(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(propertyService.getAllPropertiesSummaries(page, size));
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return withETag(etag, propertyService.getAllPropertiesSummaries(page, size));
+    }
+
+    // Keyset pagination: pass back nextCursor from the previous response. Total is only counted on request.
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getAllPropertiesAfter(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        try {
+            return ResponseEntity.ok(propertyService.searchPropertiesSummariesAfter(
+                    null, null, null, null, null, null, cursor, size, withTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
     }
 
     // Admin: Get ALL properties (including unverified)
@@ -103,15 +139,115 @@ public class PropertyController {
     }
 
     @GetMapping("/cities")
-    public ResponseEntity<List<String>> getAllCities() {
-        return ResponseEntity.ok(propertyService.getAllCities());
+    public ResponseEntity<List<String>> getAllCities(WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return withETag(etag, propertyService.getAllCities());
     }
 
+    // Delta sync: listings upserted or removed since a catalogue version (410 when it must resync)
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(propertyService.getChangesSince(since, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        } catch (com.buildex.exception.ChangeLogExpiredException e) {
+            return ResponseEntity.status(org.springframework.http.HttpStatus.GONE)
+                    .body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    // Several properties in one request, in the order asked: full details (default) or catalog summaries
+    @GetMapping("/batch")
+    public ResponseEntity<?> getPropertiesBatch(@RequestParam List<Long> ids,
+            @RequestParam(defaultValue = "detail") String view,
+            WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            if ("summary".equalsIgnoreCase(view)) {
+                return withETag(etag, propertyService.getPropertySummaries(ids));
+            }
+            if (!"detail".equalsIgnoreCase(view)) {
+                throw new IllegalArgumentException("view must be 'detail' or 'summary'");
+            }
+            // Details are pre-serialized: join their JSON into one array without re-encoding
+            java.io.ByteArrayOutputStream body = new java.io.ByteArrayOutputStream();
+            body.write('[');
+            List<PropertyDetailDTO> details = propertyService.getPropertyDetails(ids);
+            for (int i = 0; i < details.size(); i++) {
+                if (i > 0) body.write(',');
+                body.writeBytes(details.get(i).getJson());
+            }
+            body.write(']');
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                    .body(body.toByteArray());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    // Writes the cached, pre-serialized JSON as-is - no per-request serialization.
+    // Views are counted in memory and flushed to property_stats in batches.
     @GetMapping("/{propertyId}")
-    public ResponseEntity<Property> getPropertyById(@PathVariable Long propertyId) {
-        Optional<Property> property = propertyService.getPropertyByIdEager(propertyId);
-        return property.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getPropertyById(@PathVariable Long propertyId, WebRequest webRequest) {
+        // A revalidation of an unchanged property is answered without loading or serializing anything
+        if (webRequest.checkNotModified(propertyVersions.propertyTag(propertyId))) {
+            return null;
+        }
+        Optional<PropertyDetailDTO> detail = propertyService.getPropertyDetail(propertyId);
+        if (detail.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        viewStats.recordView(propertyId); // Revalidations are not views
+        // Tagged with the version the detail was loaded at, which a racing write may have passed
+        return ResponseEntity.ok()
+                .eTag(propertyVersions.tag(detail.get().getVersion()))
+                .cacheControl(CacheControl.noCache())
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .body(detail.get().getJson());
+    }
+
+    // Most viewed listings lately; recent views count most (recomputed each minute)
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingProperties(@RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.maxAge(java.time.Duration.ofMinutes(1)))
+                    .body(propertyService.getTrendingProperties(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{propertyId}/stats")
+    public ResponseEntity<com.buildex.service.PropertyViewStats.ViewCount> getPropertyStats(@PathVariable Long propertyId) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(viewStats.getViews(propertyId));
+    }
+
+    // Listings similar in price, size, layout, location, type and amenities (same purpose and city)
+    @GetMapping("/{propertyId}/similar")
+    public ResponseEntity<List<PropertySummaryDTO>> getSimilarProperties(@PathVariable Long propertyId,
+            @RequestParam(defaultValue = "6") int limit,
+            WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return withETag(etag, propertyService.getSimilarProperties(propertyId, limit));
     }
 
     @GetMapping("/builder/{builderId}")
@@ -156,19 +292,191 @@ public class PropertyController {
         return ResponseEntity.noContent().build();
     }
 
+    // sort: newest (default), price_asc/desc, rent_asc/desc, price_per_sqft_asc/desc, size_asc/desc,
+    // or relevance (search becomes a keyword query ranked by BM25 over title, description, amenities and location)
     @GetMapping("/search")
-    public ResponseEntity<org.springframework.data.domain.Page<PropertySummaryDTO>> searchProperties(
+    public ResponseEntity<?> searchProperties(
             @RequestParam(required = false) Property.Purpose purpose,
             @RequestParam(required = false) Property.PropertyType propertyType,
             @RequestParam(required = false) String city,
             @RequestParam(required = false) String area,
             @RequestParam(required = false) Property.AvailabilityStatus availabilityStatus,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) java.math.BigDecimal minPrice,
+            @RequestParam(required = false) java.math.BigDecimal maxPrice,
+            @RequestParam(required = false) java.math.BigDecimal minRent,
+            @RequestParam(required = false) java.math.BigDecimal maxRent,
+            @RequestParam(required = false) Integer minAreaSqft,
+            @RequestParam(required = false) Integer maxAreaSqft,
+            @RequestParam(required = false) Integer minBedrooms,
+            @RequestParam(required = false) Integer maxBedrooms,
+            @RequestParam(required = false) String sort,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        org.springframework.data.domain.Page<PropertySummaryDTO> properties = propertyService.searchPropertiesSummariesPaginated(
-                purpose, propertyType, city, area, availabilityStatus, search, page, size);
-        return ResponseEntity.ok(properties);
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            RangeFilter ranges = RangeFilter.of(minPrice, maxPrice, minRent, maxRent,
+                    minAreaSqft, maxAreaSqft, minBedrooms, maxBedrooms);
+            CatalogSort order = CatalogSort.parse(sort);
+            if (!ranges.isEmpty() || order != CatalogSort.NEWEST) {
+                return withETag(etag, propertyService.searchPropertiesSummariesRanged(
+                        purpose, propertyType, city, area, availabilityStatus, search, ranges, order, page, size));
+            }
+            // Cached in properties_search; counted for the popular-search report and warmup
+            SearchAnalytics.SearchKey key = SearchAnalytics.SearchKey.of(
+                    purpose, propertyType, city, area, availabilityStatus, search, page, size);
+            boolean cached = searchAnalytics.isCached(key);
+            org.springframework.data.domain.Page<PropertySummaryDTO> properties = propertyService.searchPropertiesSummariesPaginated(
+                    key.purpose(), key.propertyType(), key.city(), key.area(), key.availabilityStatus(), key.search(),
+                    key.page(), key.size());
+            searchAnalytics.record(key, cached);
+            return withETag(etag, properties);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    // Counts per purpose, type, availability, city and area for the current filter selection
+    @GetMapping("/facets")
+    public ResponseEntity<PropertyFacetsDTO> getFacets(
+            @RequestParam(required = false) Property.Purpose purpose,
+            @RequestParam(required = false) Property.PropertyType propertyType,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String area,
+            @RequestParam(required = false) Property.AvailabilityStatus availabilityStatus,
+            @RequestParam(required = false) String search,
+            WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return withETag(etag, propertyService.getFacets(purpose, propertyType, city, area, availabilityStatus, search));
+    }
+
+    // Median and percentile price/rent per sqft plus price slider histograms, by city and area
+    @GetMapping("/price-stats")
+    public ResponseEntity<?> getPriceStatistics(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String area,
+            @RequestParam(defaultValue = "20") int buckets,
+            WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            return withETag(etag, propertyService.getPriceStatistics(city, area, buckets));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/search/cursor")
+    public ResponseEntity<?> searchPropertiesAfter(
+            @RequestParam(required = false) Property.Purpose purpose,
+            @RequestParam(required = false) Property.PropertyType propertyType,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String area,
+            @RequestParam(required = false) Property.AvailabilityStatus availabilityStatus,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        try {
+            CursorPageDTO<PropertySummaryDTO> properties = propertyService.searchPropertiesSummariesAfter(
+                    purpose, propertyType, city, area, availabilityStatus, search, cursor, size, withTotal);
+            return ResponseEntity.ok(properties);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    // Autocomplete: best-matching cities, areas, builders and titles for a prefix, most listings first
+    @GetMapping("/suggest")
+    public ResponseEntity<List<com.buildex.dto.SuggestionDTO>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return withETag(etag, propertyService.suggest(q, limit));
+    }
+
+    // Properties within radiusKm of a point, nearest first by default
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyProperties(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) Property.Purpose purpose,
+            @RequestParam(required = false) Property.PropertyType propertyType,
+            @RequestParam(required = false) Property.AvailabilityStatus availabilityStatus,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            return withETag(etag, propertyService.searchNearby(purpose, propertyType, availabilityStatus,
+                    lat, lng, radiusKm, sort, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    // Properties inside the map viewport, newest first by default
+    @GetMapping("/within")
+    public ResponseEntity<?> getPropertiesWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam(required = false) Property.Purpose purpose,
+            @RequestParam(required = false) Property.PropertyType propertyType,
+            @RequestParam(required = false) Property.AvailabilityStatus availabilityStatus,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            return withETag(etag, propertyService.searchWithin(purpose, propertyType, availabilityStatus,
+                    minLat, minLng, maxLat, maxLng, sort, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    // Aggregated map markers (count, centroid, price range) per grid cell of the viewport
+    @GetMapping("/clusters")
+    public ResponseEntity<?> getMapClusters(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam int zoom,
+            WebRequest webRequest) {
+        String etag = propertyVersions.catalogueTag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            return withETag(etag, propertyService.getMapClusters(minLat, minLng, maxLat, maxLng, zoom));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
     }
 
     @PostMapping("/upload-legal-doc")
@@ -229,7 +537,7 @@ public class PropertyController {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
 
-            Property property = propertyService.getPropertyById(propertyId)
+            PropertyDetailDTO property = propertyService.getPropertyDetail(propertyId)
                     .orElseThrow(() -> new RuntimeException("Property not found"));
             String legalDocUrl = property.getLegalDocumentUrl();
 
@@ -278,7 +586,7 @@ public class PropertyController {
     @GetMapping("/{propertyId}/brochure")
     public ResponseEntity<?> getBrochure(@PathVariable Long propertyId) {
         try {
-            Property property = propertyService.getPropertyById(propertyId)
+            PropertyDetailDTO property = propertyService.getPropertyDetail(propertyId)
                     .orElseThrow(() -> new RuntimeException("Property not found"));
 
             String brochureUrl = property.getBrochureUrl();
@@ -332,4 +640,13 @@ public class PropertyController {
                     .body(Collections.singletonMap("error", "Failed to proxy image: " + e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // The version tag is read before the data, so a concurrent write can only make it older than
+    // the body (next poll gets a 200), never newer. no-cache lets clients store and revalidate.
+    private static <T> ResponseEntity<T> withETag(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+}
@@ -0,0 +1,82 @@
+package com.buildex.controller;
+
+import com.buildex.entity.SavedSearch;
+import com.buildex.service.SavedSearchService;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/saved-searches")
+@RequiredArgsConstructor
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    // Same filters as /api/properties/search; new verified listings matching them are emailed
+    @PostMapping
+    public ResponseEntity<?> createSavedSearch(@RequestBody SavedSearchRequest request) {
+        try {
+            SavedSearch saved = savedSearchService.createSavedSearch(request.getUserId(), request.toSavedSearch());
+            return new ResponseEntity<>(saved, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<SavedSearch>> getSavedSearches(@PathVariable Long userId) {
+        return ResponseEntity.ok(savedSearchService.getSavedSearches(userId));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSavedSearch(@PathVariable Long id) {
+        savedSearchService.deleteSavedSearch(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Data
+    public static class SavedSearchRequest {
+        private Long userId;
+        private String name;
+        private com.buildex.entity.Property.Purpose purpose;
+        private com.buildex.entity.Property.PropertyType propertyType;
+        private String city;
+        private String area;
+        private com.buildex.entity.Property.AvailabilityStatus availabilityStatus;
+        private String search;
+        private java.math.BigDecimal minPrice;
+        private java.math.BigDecimal maxPrice;
+        private java.math.BigDecimal minRent;
+        private java.math.BigDecimal maxRent;
+        private Integer minAreaSqft;
+        private Integer maxAreaSqft;
+        private Integer minBedrooms;
+        private Integer maxBedrooms;
+
+        SavedSearch toSavedSearch() {
+            return SavedSearch.builder()
+                    .name(name)
+                    .purpose(purpose)
+                    .propertyType(propertyType)
+                    .city(city)
+                    .area(area)
+                    .availabilityStatus(availabilityStatus)
+                    .search(search)
+                    .minPrice(minPrice)
+                    .maxPrice(maxPrice)
+                    .minRent(minRent)
+                    .maxRent(maxRent)
+                    .minAreaSqft(minAreaSqft)
+                    .maxAreaSqft(maxAreaSqft)
+                    .minBedrooms(minBedrooms)
+                    .maxBedrooms(maxBedrooms)
+                    .build();
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.buildex.controller;
 
-import com.buildex.entity.Property;
+import com.buildex.dto.PropertyDetailDTO;
 import com.buildex.service.PropertyService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller; // Use @Controller for serving HTML, not RestController
@@ -27,20 +27,20 @@ public class ShareController {
     @GetMapping("/property/{id}")
     @ResponseBody
     public String shareProperty(@PathVariable Long id) {
-        Optional<Property> propertyOpt = propertyService.getPropertyById(id);
+        Optional<PropertyDetailDTO> propertyOpt = propertyService.getPropertyDetail(id);
 
         if (propertyOpt.isEmpty()) {
             return "<html><body><h1>Property Not Found</h1></body></html>";
         }
 
-        Property property = propertyOpt.get();
+        PropertyDetailDTO property = propertyOpt.get();
 
         // Construct absolute image URL
         // If image URL is relative or needs prefix, handle it here.
         // Assuming imageUrls contains full URLs or we need a base URL.
         String imageUrl = "";
-        if (property.getGalleryImages() != null && !property.getGalleryImages().isEmpty()) {
-            imageUrl = property.getGalleryImages().get(0);
+        if (property.getFirstGalleryImage() != null) {
+            imageUrl = property.getFirstGalleryImage();
         } else {
             // Fallback image
             imageUrl = "https://placehold.co/600x400?text=Buildex+Property";
@@ -0,0 +1,20 @@
+package com.buildex.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content;
+    private int size; // Number of items in this page
+    private boolean hasNext;
+    private String nextCursor; // Pass back as ?cursor= to get the next page; null on the last page
+    private Long totalElements; // Only filled when requested with withTotal=true
+}
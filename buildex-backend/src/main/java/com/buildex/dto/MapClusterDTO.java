@@ -0,0 +1,21 @@
+package com.buildex.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MapClusterDTO {
+    private double latitude; // Centroid of the properties in the cell
+    private double longitude;
+    private int count;
+    private BigDecimal minPrice; // Null when no property in the cell has a price
+    private BigDecimal maxPrice;
+    private Long propertyId; // Only set when the cell holds a single property, so it can be drawn as a pin
+}
@@ -0,0 +1,48 @@
+package com.buildex.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Price statistics of verified listings in a city, an area of a city, or everywhere.
+// Quantiles and histogram counts are approximate (within about 1-2% of rank).
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceStatisticsDTO {
+    private String city; // Null for all cities
+    private String area; // Null for the whole city
+    private Quantiles pricePerSqft; // Listings for sale
+    private Quantiles rentPerSqft; // Listings for rent
+    private List<Bucket> priceHistogram;
+    private List<Bucket> rentHistogram;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Quantiles {
+        private long count;
+        private Double min;
+        private Double p10;
+        private Double p25;
+        private Double median;
+        private Double p75;
+        private Double p90;
+        private Double max;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private double from; // Inclusive
+        private double to; // Exclusive, except for the last bucket
+        private long count;
+    }
+}
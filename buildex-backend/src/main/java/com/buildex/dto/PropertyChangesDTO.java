@@ -0,0 +1,20 @@
+package com.buildex.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of the catalogue change feed: what to upsert and remove to catch up to `version`
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyChangesDTO {
+    private long version; // Pass as `since` on the next call
+    private boolean hasMore; // More changes follow; call again right away
+    private List<PropertySummaryDTO> upserted; // Current state of listings created or changed
+    private List<Long> deleted; // Listings deleted or no longer verified
+}
@@ -0,0 +1,128 @@
+package com.buildex.dto;
+
+import com.buildex.entity.Property;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Immutable read model behind GET /api/properties/{id} (the property_details cache).
+ *
+ * The full response body is mapped field by field into a {@link PropertyDetailResponseDTO} and
+ * serialized once, when the detail is built, then kept as UTF-8 bytes that are written to the
+ * response as-is. The entity itself is never serialized, so its lazy associations and new columns
+ * cannot leak into the response. The few fields other endpoints need
+ * (share page, brochure / legal document redirects) are kept alongside, as is the property
+ * version read before loading: the data is at least that new, and its ETag is built from it.
+ */
+public final class PropertyDetailDTO {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String firstGalleryImage;
+    private final String legalDocumentUrl;
+    private final String brochureUrl;
+    private final byte[] json;
+    private final long version;
+
+    private PropertyDetailDTO(Property property, byte[] json, long version) {
+        this.id = property.getId();
+        this.title = property.getTitle();
+        this.description = property.getDescription();
+        this.firstGalleryImage = property.getGalleryImages() != null && !property.getGalleryImages().isEmpty()
+                ? property.getGalleryImages().get(0)
+                : null;
+        this.legalDocumentUrl = property.getLegalDocumentUrl();
+        this.brochureUrl = property.getBrochureUrl();
+        this.json = json;
+        this.version = version;
+    }
+
+    // The property's lazy collections and builder must already be initialized
+    public static PropertyDetailDTO of(Property property, ObjectMapper objectMapper, long version) {
+        try {
+            return new PropertyDetailDTO(property, objectMapper.writeValueAsBytes(toResponse(property)), version);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize property " + property.getId(), e);
+        }
+    }
+
+    private static PropertyDetailResponseDTO toResponse(Property property) {
+        return PropertyDetailResponseDTO.builder()
+                .id(property.getId())
+                .title(property.getTitle())
+                .description(property.getDescription())
+                .propertyType(property.getPropertyType())
+                .purpose(property.getPurpose())
+                .rentalStatus(property.getRentalStatus())
+                .soldDate(property.getSoldDate())
+                .price(property.getPrice())
+                .rentAmount(property.getRentAmount())
+                .depositAmount(property.getDepositAmount())
+                .areaSqft(property.getAreaSqft())
+                .bedrooms(property.getBedrooms())
+                .bathrooms(property.getBathrooms())
+                .amenities(property.getAmenities())
+                .possessionYear(property.getPossessionYear())
+                .constructionStatus(property.getConstructionStatus())
+                .availabilityStatus(property.getAvailabilityStatus())
+                .city(property.getCity())
+                .googleMapLink(property.getGoogleMapLink())
+                .imageUrl(property.getImageUrl())
+                .brochureUrl(property.getBrochureUrl())
+                .virtualTourLink(property.getVirtualTourLink())
+                .galleryImages(property.getGalleryImages())
+                .legalDocumentUrl(property.getLegalDocumentUrl())
+                .isVerified(property.getIsVerified())
+                .panoramaImageUrl(property.getPanoramaImageUrl())
+                .panoramaImages(property.getPanoramaImages())
+                .latitude(property.getLatitude())
+                .longitude(property.getLongitude())
+                .createdAt(property.getCreatedAt())
+                .builderId(property.getBuilderId())
+                .builderName(property.getBuilderName())
+                .status(property.getStatus())
+                .name(property.getTitle())
+                .images(property.getGalleryImages())
+                .area(property.getAreaSqft())
+                .locality(property.getArea())
+                .possession(property.getPossessionYear())
+                .availability(property.getAvailabilityStatus())
+                .rent(property.getRentAmount())
+                .type(property.getPropertyType())
+                .build();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getFirstGalleryImage() {
+        return firstGalleryImage;
+    }
+
+    public String getLegalDocumentUrl() {
+        return legalDocumentUrl;
+    }
+
+    public String getBrochureUrl() {
+        return brochureUrl;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Shared by every request that hits the cache - never modify the returned array
+    public byte[] getJson() {
+        return json;
+    }
+}
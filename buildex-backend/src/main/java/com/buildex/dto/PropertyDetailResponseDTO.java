@@ -0,0 +1,75 @@
+package com.buildex.dto;
+
+import com.buildex.entity.Property;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+// Body of GET /api/properties/{id}. Field names (and the frontend aliases) match what the
+// property detail has always returned; see PropertyDetailDTO for how it is built and cached
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyDetailResponseDTO {
+    private Long id;
+    private String title;
+    private String description;
+    private Property.PropertyType propertyType;
+    private Property.Purpose purpose;
+    private Property.RentalStatus rentalStatus;
+    private LocalDateTime soldDate;
+    private BigDecimal price;
+    @JsonProperty("rent_amount")
+    private BigDecimal rentAmount;
+    private BigDecimal depositAmount;
+    private Integer areaSqft;
+    private Integer bedrooms;
+    private Integer bathrooms;
+    private Set<String> amenities;
+    private Integer possessionYear;
+    @JsonProperty("construction_status")
+    private Property.ConstructionStatus constructionStatus;
+    private Property.AvailabilityStatus availabilityStatus;
+    private String city;
+    @JsonProperty("google_map_link")
+    private String googleMapLink;
+    private String imageUrl;
+    @JsonProperty("brochure_url")
+    private String brochureUrl;
+    @JsonProperty("virtual_tour_link")
+    private String virtualTourLink;
+    private List<String> galleryImages;
+    @JsonProperty("legal_document_url")
+    private String legalDocumentUrl;
+    private Boolean isVerified;
+    @JsonProperty("panorama_image_url")
+    private String panoramaImageUrl;
+    @JsonProperty("panorama_images")
+    private List<String> panoramaImages;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime createdAt;
+    @JsonProperty("builder_id")
+    private Long builderId;
+    @JsonProperty("builder_name")
+    private String builderName;
+
+    // Frontend aliases of the fields above
+    private String status; // "approved" or "pending"
+    private String name; // title
+    private List<String> images; // galleryImages
+    private Integer area; // areaSqft - the frontend's "area" is the size, not the locality
+    private String locality;
+    private Integer possession; // possessionYear
+    private Property.AvailabilityStatus availability;
+    private BigDecimal rent; // rentAmount
+    private Property.PropertyType type;
+}
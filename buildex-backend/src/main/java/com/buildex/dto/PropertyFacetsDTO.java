@@ -0,0 +1,23 @@
+package com.buildex.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Counts per filter value for the search sidebar. Each facet is counted with every other filter
+// applied but not its own, so picking a different value shows how many results it would give.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyFacetsDTO {
+    private long total; // Matches for the full selection
+    private Map<String, Long> purposes;
+    private Map<String, Long> propertyTypes;
+    private Map<String, Long> availabilityStatuses;
+    private Map<String, Long> cities; // Most frequent first
+    private Map<String, Long> areas; // Most frequent first
+}
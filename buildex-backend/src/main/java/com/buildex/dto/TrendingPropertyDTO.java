@@ -0,0 +1,17 @@
+package com.buildex.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A listing in the trending ranking with its view figures
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingPropertyDTO {
+    private PropertySummaryDTO property;
+    private long views; // All-time views
+    private double score; // Recent views, each weighted down by half per half-life since it happened
+}
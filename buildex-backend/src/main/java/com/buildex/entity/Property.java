@@ -87,7 +87,7 @@ public class Property {
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "property_amenities", joinColumns = @JoinColumn(name = "property_id"))
     @Column(name = "amenity")
-    @org.hibernate.annotations.BatchSize(size = 50)
+    @org.hibernate.annotations.BatchSize(size = 100)
     private java.util.Set<String> amenities;
 
     @Column(name = "possession_year")
@@ -117,6 +117,11 @@ public class Property {
     @Column(name = "image_url", columnDefinition = "TEXT")
     private String imageUrl;
 
+    // Denormalized listing thumbnail: imageUrl, else the first gallery image (see refreshThumbnail)
+    @Column(name = "thumbnail_url", columnDefinition = "TEXT")
+    @JsonIgnore
+    private String thumbnailUrl;
+
     @Column(name = "brochure_url", columnDefinition = "TEXT")
     @com.fasterxml.jackson.annotation.JsonProperty("brochure_url")
     private String brochureUrl;
@@ -129,7 +134,7 @@ public class Property {
     @CollectionTable(name = "property_gallery_images", joinColumns = @JoinColumn(name = "property_id"))
     @Column(name = "gallery_image_url", columnDefinition = "TEXT")
     @OrderColumn(name = "gallery_order")
-    @org.hibernate.annotations.BatchSize(size = 50)
+    @org.hibernate.annotations.BatchSize(size = 100)
     private List<String> galleryImages;
 
     @Column(name = "legal_document_url", columnDefinition = "TEXT")
@@ -148,7 +153,7 @@ public class Property {
     @CollectionTable(name = "property_panorama_images", joinColumns = @JoinColumn(name = "property_id"))
     @Column(name = "panorama_image_url", columnDefinition = "TEXT")
     @OrderColumn(name = "image_order")
-    @org.hibernate.annotations.BatchSize(size = 50)
+    @org.hibernate.annotations.BatchSize(size = 100)
     @com.fasterxml.jackson.annotation.JsonProperty("panorama_images")
     private List<String> panoramaImages;
 
@@ -348,4 +353,18 @@ public class Property {
     public void setImagesAlias(List<String> images) {
         this.galleryImages = images;
     }
+
+    // Keeps thumbnail_url in line with imageUrl / galleryImages. An uninitialized gallery is left
+    // alone (it cannot have changed), so this never triggers a lazy load during flush.
+    @PrePersist
+    @PreUpdate
+    public void refreshThumbnail() {
+        if (imageUrl != null && !imageUrl.isEmpty()) {
+            thumbnailUrl = imageUrl;
+        } else if (galleryImages == null) {
+            thumbnailUrl = null;
+        } else if (org.hibernate.Hibernate.isInitialized(galleryImages)) {
+            thumbnailUrl = galleryImages.isEmpty() ? null : galleryImages.get(0);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.buildex.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Append-only log of catalogue writes; the id is the catalogue version the change produced
+@Entity
+@Table(name = "property_changes")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "property_id", nullable = false)
+    private Long propertyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private ChangeType changeType;
+
+    @CreationTimestamp
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+
+    public enum ChangeType {
+        UPSERT, DELETE
+    }
+}
@@ -0,0 +1,34 @@
+package com.buildex.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// View totals per property, written in batches by PropertyViewStats (never per request)
+@Entity
+@Table(name = "property_stats", indexes = {
+        @Index(name = "idx_property_stats_trending", columnList = "trending_score")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyStats {
+    @Id
+    @Column(name = "property_id")
+    private Long propertyId;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    // log2 of the forward-decayed view score, see PropertyViewStats
+    @Column(name = "trending_score", nullable = false)
+    private double trendingScore;
+
+    @Column(name = "last_viewed_at")
+    private LocalDateTime lastViewedAt;
+}
@@ -0,0 +1,79 @@
+package com.buildex.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// A user's stored /api/properties/search filters; new verified listings matching them are emailed
+@Entity
+@Table(name = "saved_searches", indexes = {
+        @Index(name = "idx_saved_search_user", columnList = "user_id")
+})
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    @com.fasterxml.jackson.annotation.JsonIgnoreProperties({"properties", "password"})
+    private User user;
+
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    private Property.Purpose purpose;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "property_type")
+    private Property.PropertyType propertyType;
+
+    private String city;
+
+    private String area;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "availability_status")
+    private Property.AvailabilityStatus availabilityStatus;
+
+    private String search;
+
+    @Column(name = "min_price")
+    private BigDecimal minPrice;
+
+    @Column(name = "max_price")
+    private BigDecimal maxPrice;
+
+    @Column(name = "min_rent")
+    private BigDecimal minRent;
+
+    @Column(name = "max_rent")
+    private BigDecimal maxRent;
+
+    @Column(name = "min_area_sqft")
+    private Integer minAreaSqft;
+
+    @Column(name = "max_area_sqft")
+    private Integer maxAreaSqft;
+
+    @Column(name = "min_bedrooms")
+    private Integer minBedrooms;
+
+    @Column(name = "max_bedrooms")
+    private Integer maxBedrooms;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
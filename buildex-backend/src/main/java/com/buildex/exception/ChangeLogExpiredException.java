@@ -0,0 +1,8 @@
+package com.buildex.exception;
+
+// The change feed can no longer bring a client at the given version up to date; it must resync
+public class ChangeLogExpiredException extends RuntimeException {
+    public ChangeLogExpiredException(String message) {
+        super(message);
+    }
+}
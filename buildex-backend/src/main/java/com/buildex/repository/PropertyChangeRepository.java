@@ -0,0 +1,33 @@
+package com.buildex.repository;
+
+import com.buildex.entity.PropertyChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PropertyChangeRepository extends JpaRepository<PropertyChange, Long> {
+
+    List<PropertyChange> findByIdGreaterThanOrderByIdAsc(Long since, org.springframework.data.domain.Pageable pageable);
+
+    @Query("SELECT MAX(c.id) FROM PropertyChange c")
+    Long findLatestVersion();
+
+    @Query("SELECT MIN(c.id) FROM PropertyChange c")
+    Long findOldestVersion();
+
+    // Held until the transaction ends, so change log versions commit in the order they are assigned
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:key)) l", nativeQuery = true)
+    Integer lockForAppend(@Param("key") long key);
+
+    // Always keeps the newest row: it records the latest version even when nothing changed lately
+    @Modifying
+    @Query("DELETE FROM PropertyChange c WHERE c.changedAt < :cutoff "
+            + "AND c.id < (SELECT MAX(n.id) FROM PropertyChange n)")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -24,6 +24,10 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
        @Query("SELECT p FROM Property p")
        List<Property> findAllWithBuilder();
 
+       // Used to build the in-memory catalog snapshot on a cold start
+       @Query("SELECT p FROM Property p LEFT JOIN FETCH p.builder WHERE p.isVerified = true")
+       List<Property> findAllVerifiedWithBuilder();
+
        List<Property> findByPurpose(Purpose purpose);
 
        List<Property> findByPropertyType(PropertyType propertyType);
@@ -73,12 +77,72 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
                      @Param("search") String search,
                      org.springframework.data.domain.Pageable pageable);
 
+       // Postgres search path (app.search.mode=postgres). Uses the normalized columns, tsvector and
+       // GIN indexes created by SearchSchema. Text parameters must already be lowercased.
+       @Query(value = "SELECT p.* FROM properties p " +
+                     "WHERE p.is_verified = true " +
+                     "AND (CAST(:purpose AS text) IS NULL OR p.purpose = CAST(:purpose AS text)) " +
+                     "AND (CAST(:propertyType AS text) IS NULL OR p.property_type = CAST(:propertyType AS text)) " +
+                     "AND (CAST(:city AS text) IS NULL OR p.city_norm LIKE '%' || CAST(:city AS text) || '%') " +
+                     "AND (CAST(:area AS text) IS NULL OR p.area_norm LIKE '%' || CAST(:area AS text) || '%') " +
+                     "AND (CAST(:availabilityStatus AS text) IS NULL OR p.availability_status = CAST(:availabilityStatus AS text)) " +
+                     "AND (CAST(:search AS text) IS NULL OR p.title_norm LIKE '%' || CAST(:search AS text) || '%' " +
+                     "OR p.city_norm LIKE '%' || CAST(:search AS text) || '%' " +
+                     "OR p.area_norm LIKE '%' || CAST(:search AS text) || '%' " +
+                     "OR p.builder_name_norm LIKE '%' || CAST(:search AS text) || '%' " +
+                     "OR p.search_document @@ plainto_tsquery('english', CAST(:search AS text))) " +
+                     "ORDER BY CASE WHEN CAST(:search AS text) IS NULL THEN 0 " +
+                     "ELSE ts_rank_cd(p.search_document, plainto_tsquery('english', CAST(:search AS text))) " +
+                     "+ similarity(p.title_norm, CAST(:search AS text)) END DESC, p.created_at DESC, p.id DESC",
+                     countQuery = "SELECT COUNT(*) FROM properties p " +
+                     "WHERE p.is_verified = true " +
+                     "AND (CAST(:purpose AS text) IS NULL OR p.purpose = CAST(:purpose AS text)) " +
+                     "AND (CAST(:propertyType AS text) IS NULL OR p.property_type = CAST(:propertyType AS text)) " +
+                     "AND (CAST(:city AS text) IS NULL OR p.city_norm LIKE '%' || CAST(:city AS text) || '%') " +
+                     "AND (CAST(:area AS text) IS NULL OR p.area_norm LIKE '%' || CAST(:area AS text) || '%') " +
+                     "AND (CAST(:availabilityStatus AS text) IS NULL OR p.availability_status = CAST(:availabilityStatus AS text)) " +
+                     "AND (CAST(:search AS text) IS NULL OR p.title_norm LIKE '%' || CAST(:search AS text) || '%' " +
+                     "OR p.city_norm LIKE '%' || CAST(:search AS text) || '%' " +
+                     "OR p.area_norm LIKE '%' || CAST(:search AS text) || '%' " +
+                     "OR p.builder_name_norm LIKE '%' || CAST(:search AS text) || '%' " +
+                     "OR p.search_document @@ plainto_tsquery('english', CAST(:search AS text)))",
+                     nativeQuery = true)
+       org.springframework.data.domain.Page<Property> searchRanked(@Param("purpose") String purpose,
+                     @Param("propertyType") String propertyType,
+                     @Param("city") String city,
+                     @Param("area") String area,
+                     @Param("availabilityStatus") String availabilityStatus,
+                     @Param("search") String search,
+                     org.springframework.data.domain.Pageable pageable);
+
        @Query("SELECT DISTINCT p.city FROM Property p WHERE p.city IS NOT NULL ORDER BY p.city")
        List<String> findAllCities();
 
        @Query("SELECT p FROM Property p LEFT JOIN FETCH p.builder WHERE p.id = :id")
        Optional<Property> findByIdWithBuilder(@Param("id") Long id);
 
+       @Query("SELECT p FROM Property p LEFT JOIN FETCH p.builder WHERE p.id IN :ids")
+       List<Property> findAllByIdWithBuilder(@Param("ids") java.util.Collection<Long> ids);
+
+       // First gallery image per property, for listings whose thumbnail_url is not filled yet.
+       // Returns [property_id, gallery_image_url] rows.
+       @Query(value = "SELECT DISTINCT ON (g.property_id) g.property_id, g.gallery_image_url FROM property_gallery_images g " +
+                     "WHERE g.property_id IN (:propertyIds) ORDER BY g.property_id, g.gallery_order", nativeQuery = true)
+       List<Object[]> findFirstGalleryImages(@Param("propertyIds") java.util.Collection<Long> propertyIds);
+
+       // Amenities of many properties at once, for building the catalog. Returns [property_id, amenity] rows.
+       @Query(value = "SELECT a.property_id, a.amenity FROM property_amenities a WHERE a.property_id IN (:propertyIds)",
+                     nativeQuery = true)
+       List<Object[]> findAmenities(@Param("propertyIds") java.util.Collection<Long> propertyIds);
+
+       // One-off backfill of the denormalized thumbnail column
+       @org.springframework.data.jpa.repository.Modifying
+       @org.springframework.transaction.annotation.Transactional
+       @Query(value = "UPDATE properties p SET thumbnail_url = COALESCE(NULLIF(p.image_url, ''), " +
+                     "(SELECT g.gallery_image_url FROM property_gallery_images g WHERE g.property_id = p.id ORDER BY g.gallery_order LIMIT 1)) " +
+                     "WHERE p.thumbnail_url IS NULL", nativeQuery = true)
+       int backfillThumbnails();
+
        @Query(value = "SELECT COALESCE(p.image_url, (SELECT gallery_image_url FROM property_gallery_images WHERE property_id = p.id LIMIT 1)) FROM properties p WHERE p.id = :propertyId", nativeQuery = true)
        String findThumbnail(@Param("propertyId") Long propertyId);
 }
\ No newline at end of file
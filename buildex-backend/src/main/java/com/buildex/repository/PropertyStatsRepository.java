@@ -0,0 +1,15 @@
+package com.buildex.repository;
+
+import com.buildex.entity.PropertyStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Reads and deletes only; PropertyViewStats writes the counts with a batched upsert
+@Repository
+public interface PropertyStatsRepository extends JpaRepository<PropertyStats, Long> {
+
+    List<PropertyStats> findByOrderByTrendingScoreDesc(Pageable pageable);
+}
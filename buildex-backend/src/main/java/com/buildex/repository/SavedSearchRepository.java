@@ -0,0 +1,17 @@
+package com.buildex.repository;
+
+import com.buildex.entity.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+    List<SavedSearch> findByUserId(Long userId);
+
+    // Every saved search with its owner in one query, for building the alert index
+    @Query("SELECT s FROM SavedSearch s JOIN FETCH s.user")
+    List<SavedSearch> findAllWithUser();
+}
@@ -0,0 +1,42 @@
+package com.buildex.service;
+
+import com.buildex.dto.PropertySummaryDTO;
+import com.buildex.service.catalog.CatalogEntry;
+import com.buildex.service.catalog.CatalogListener;
+import com.buildex.service.catalog.CatalogSnapshot;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Pushes "availability" events to a property's SSE topic when its listing is sold, rented,
+ * re-listed or taken down, so open listing pages can update their badge without polling.
+ */
+@Component
+public class AvailabilityEvents implements CatalogListener {
+
+    private final EventHub eventHub;
+
+    public AvailabilityEvents(EventHub eventHub) {
+        this.eventHub = eventHub;
+    }
+
+    @Override
+    public void onEntryChanged(CatalogSnapshot before, CatalogSnapshot after, CatalogEntry previous,
+            CatalogEntry current) {
+        PropertySummaryDTO was = previous != null ? previous.getSummary() : null;
+        PropertySummaryDTO now = current != null ? current.getSummary() : null;
+        if (was != null && now != null && Objects.equals(was.getAvailability(), now.getAvailability())) {
+            return;
+        }
+        long propertyId = current != null ? current.getId() : previous.getId();
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("propertyId", propertyId);
+        data.put("availability", now != null ? now.getAvailability() : null);
+        data.put("listed", now != null); // False once deleted or no longer verified
+        // Listeners run after commit, so no further synchronization is needed
+        eventHub.publishNow(EventHub.propertyTopic(propertyId), "availability", data);
+    }
+}
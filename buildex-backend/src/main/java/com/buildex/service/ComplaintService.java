@@ -20,6 +20,7 @@ public class ComplaintService {
     private final PropertyRepository propertyRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final EventHub eventHub;
 
     @org.springframework.transaction.annotation.Transactional
     public Complaint createComplaint(Long propertyId, Long userId, String issue) {
@@ -46,6 +47,14 @@ public class ComplaintService {
             throw new RuntimeException("Failed to save complaint");
         }
 
+        if (property.getBuilder() != null) {
+            java.util.Map<String, Object> report = new java.util.LinkedHashMap<>();
+            report.put("complaintId", savedComplaint.getId());
+            report.put("propertyId", property.getId());
+            report.put("propertyName", property.getName());
+            eventHub.publish(EventHub.builderTopic(property.getBuilder().getId()), "complaint", report);
+        }
+
         // Notify builder via email
         if (property != null && property.getBuilder() != null && property.getBuilder().getEmail() != null) {
             emailService.sendComplaintNotificationEmail(
@@ -445,6 +445,40 @@ public class EmailService {
                 sendResendEmail(SENDER_ADMIN, recipientEmail, "Report for " + propertyName + " – Buildex", html);
         }
 
+        /**
+         * 13. Saved Search Alert Digest (To User)
+         */
+        @Async
+        public void sendSavedSearchAlertEmail(String userEmail, String userName,
+                        Map<String, List<com.buildex.dto.PropertySummaryDTO>> listingsBySearch) {
+                StringBuilder sections = new StringBuilder();
+                int total = 0;
+                for (Map.Entry<String, List<com.buildex.dto.PropertySummaryDTO>> search : listingsBySearch.entrySet()) {
+                        sections.append("<p><strong>").append(search.getKey()).append("</strong></p>")
+                                        .append("<table class=\"data-table\">");
+                        for (com.buildex.dto.PropertySummaryDTO listing : search.getValue()) {
+                                String price = listing.getPrice() != null ? "₹" + listing.getPrice()
+                                                : listing.getRentAmount() != null ? "₹" + listing.getRentAmount() + "/month" : "";
+                                sections.append("  <tr><td class=\"data-cell label-cell\"><a href=\"https://buildexx.app/property/")
+                                                .append(listing.getId()).append("\">").append(listing.getTitle()).append("</a><br>")
+                                                .append(listing.getArea() != null ? listing.getArea() + ", " : "")
+                                                .append(listing.getCity() != null ? listing.getCity() : "")
+                                                .append("</td><td class=\"data-cell value-cell\">").append(price).append("</td></tr>");
+                                total++;
+                        }
+                        sections.append("</table>");
+                }
+                String content = "<p>Dear " + userName + ",</p>" +
+                                "<p>New listings matching your saved searches have just been verified:</p>" +
+                                sections;
+
+                String html = wrapHtmlContent("New Listings For You 🏠", content, "#1a365d", "Browse Properties",
+                                "https://buildexx.app/properties");
+                sendResendEmail(SENDER_NOTIFICATIONS, userEmail,
+                                total + (total == 1 ? " new listing matches" : " new listings match") + " your saved searches – Buildex",
+                                html);
+        }
+
     public void sendEmailWithAttachment(String to, String subject, String body, byte[] attachment, String attachmentName) {
         try {
             MimeMessage message = javaMailSender.createMimeMessage();
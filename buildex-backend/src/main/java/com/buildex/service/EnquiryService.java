@@ -14,12 +14,14 @@ public class EnquiryService {
     private final EnquiryRepository enquiryRepository;
     private final EmailService emailService;
     private final com.buildex.repository.UserRepository userRepository;
+    private final EventHub eventHub;
 
     public EnquiryService(EnquiryRepository enquiryRepository, EmailService emailService,
-            com.buildex.repository.UserRepository userRepository) {
+            com.buildex.repository.UserRepository userRepository, EventHub eventHub) {
         this.enquiryRepository = enquiryRepository;
         this.emailService = emailService;
         this.userRepository = userRepository;
+        this.eventHub = eventHub;
     }
 
     @org.springframework.transaction.annotation.Transactional
@@ -31,6 +33,14 @@ public class EnquiryService {
             com.buildex.entity.User builder = savedEnquiry.getProperty().getBuilder();
             String propertyName = savedEnquiry.getProperty().getName();
 
+            // Live dashboard update; contact details stay behind the dashboard's own endpoints
+            java.util.Map<String, Object> lead = new java.util.LinkedHashMap<>();
+            lead.put("enquiryId", savedEnquiry.getId());
+            lead.put("propertyId", savedEnquiry.getProperty().getId());
+            lead.put("propertyName", propertyName);
+            lead.put("enquiryType", savedEnquiry.getEnquiryType());
+            eventHub.publish(EventHub.builderTopic(builder.getId()), "enquiry", lead);
+
             if (savedEnquiry.getEnquiryType() == Enquiry.EnquiryType.VISIT) {
                 // Visit Notification to Builder
                 emailService.sendVisitScheduledEmail(
@@ -0,0 +1,238 @@
+package com.buildex.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events fan-out for dashboard and listing updates.
+ *
+ * Subscribers listen on topics ("builder:{id}", "property:{id}"). Connections are async
+ * requests, so an idle subscriber holds a socket but no thread. Publishing never writes to a
+ * socket: it appends to each subscriber's bounded buffer (dropping the oldest event when full)
+ * and hands subscribers with pending events to a small shared sender pool, so a slow client only
+ * delays itself. Events are published once the surrounding transaction commits.
+ */
+@Component
+public class EventHub {
+
+    public static final int MAX_SUBSCRIBERS = 10_000;
+    public static final int MAX_TOPICS_PER_SUBSCRIBER = 50;
+
+    private static final int BUFFER_SIZE = 64;
+    private static final long TIMEOUT_MS = 30 * 60 * 1000L; // EventSource reconnects on its own
+    private static final int SENDER_THREADS = 4;
+
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final ExecutorService senders = Executors.newFixedThreadPool(SENDER_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "sse-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static String builderTopic(long builderId) {
+        return "builder:" + builderId;
+    }
+
+    public static String propertyTopic(long propertyId) {
+        return "property:" + propertyId;
+    }
+
+    /**
+     * Opens a stream on the given topics. Throws {@link IllegalStateException} when the hub is full.
+     */
+    public SseEmitter subscribe(List<String> topicNames) {
+        if (topicNames.isEmpty() || topicNames.size() > MAX_TOPICS_PER_SUBSCRIBER) {
+            throw new IllegalArgumentException("Subscribe to between 1 and " + MAX_TOPICS_PER_SUBSCRIBER + " topics");
+        }
+        if (subscriberCount.incrementAndGet() > MAX_SUBSCRIBERS) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many event subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(emitter, List.copyOf(topicNames));
+        subscribers.add(subscriber);
+        for (String topic : subscriber.topics) {
+            // Added inside the compute so a concurrent unsubscribe cannot drop the set in between
+            topics.compute(topic, (t, set) -> {
+                if (set == null) {
+                    set = ConcurrentHashMap.newKeySet();
+                }
+                set.add(subscriber);
+                return set;
+            });
+        }
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscriber.offer(new Event(null, "subscribed", Map.of("topics", subscriber.topics)));
+        return emitter;
+    }
+
+    /**
+     * Sends an event to every subscriber of the topic once the current transaction commits
+     * (immediately outside one).
+     */
+    public void publish(String topic, String name, Object data) {
+        TransactionHooks.afterCommit(() -> publishNow(topic, name, data));
+    }
+
+    /**
+     * Sends an event right away; for callers already running after commit, where a new
+     * transaction synchronization would never fire.
+     */
+    public void publishNow(String topic, String name, Object data) {
+        Set<Subscriber> listeners = topics.get(topic);
+        if (listeners == null || listeners.isEmpty()) {
+            return;
+        }
+        Event event = new Event(Long.toString(eventIds.incrementAndGet()), name, data);
+        for (Subscriber subscriber : listeners) {
+            subscriber.offer(event);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // Keeps proxies from closing idle streams and finds connections that have gone away
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offerIfIdle(Event.HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            for (String topic : subscriber.topics) {
+                topics.computeIfPresent(topic, (t, set) -> {
+                    set.remove(subscriber);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+
+    private record Event(String id, String name, Object data) {
+        static final Event HEARTBEAT = new Event(null, null, null);
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final List<String> topics;
+        private final ArrayDeque<Event> buffer = new ArrayDeque<>(); // guarded by itself
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private long dropped; // guarded by buffer
+
+        Subscriber(SseEmitter emitter, List<String> topics) {
+            this.emitter = emitter;
+            this.topics = topics;
+        }
+
+        void offer(Event event) {
+            synchronized (buffer) {
+                if (buffer.size() == BUFFER_SIZE) {
+                    buffer.pollFirst();
+                    dropped++;
+                }
+                buffer.addLast(event);
+            }
+            schedule();
+        }
+
+        void offerIfIdle(Event event) {
+            synchronized (buffer) {
+                if (!buffer.isEmpty()) {
+                    return;
+                }
+                buffer.addLast(event);
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (java.util.concurrent.RejectedExecutionException e) {
+                    sending.set(false); // Shutting down
+                }
+            }
+        }
+
+        // Only one sender at a time per subscriber, so events keep their order
+        private void drain() {
+            try {
+                while (true) {
+                    Event event;
+                    long lost;
+                    synchronized (buffer) {
+                        event = buffer.pollFirst();
+                        lost = dropped;
+                        dropped = 0;
+                    }
+                    if (event == null) {
+                        break;
+                    }
+                    if (lost > 0) {
+                        emitter.send(SseEmitter.event().name("dropped").data(Map.of("count", lost), MediaType.APPLICATION_JSON));
+                    }
+                    if (event == Event.HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                                .name(event.name())
+                                .data(event.data(), MediaType.APPLICATION_JSON);
+                        if (event.id() != null) {
+                            builder.id(event.id());
+                        }
+                        emitter.send(builder);
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                unsubscribe(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // An event may have arrived between the last poll and clearing the flag
+            boolean pending;
+            synchronized (buffer) {
+                pending = !buffer.isEmpty();
+            }
+            if (pending) {
+                schedule();
+            }
+        }
+    }
+}
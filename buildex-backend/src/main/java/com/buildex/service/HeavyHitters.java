@@ -0,0 +1,115 @@
+package com.buildex.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving heavy hitters: approximate counts of the most frequent keys of a stream in
+ * bounded memory.
+ *
+ * At most {@code capacity} keys are tracked. An untracked key takes over the slot with the
+ * smallest count and inherits that count as its possible overestimate, so any key seen more
+ * than total / capacity times is always tracked, and no count is high by more than its error.
+ * Each key also counts how many of its occurrences were flagged (cache hits, for instance).
+ * Not thread-safe.
+ */
+public final class HeavyHitters<K> {
+
+    private static final Comparator<Counter<?>> BY_COUNT = Comparator
+            .<Counter<?>>comparingLong(counter -> counter.count)
+            .thenComparingLong(counter -> counter.sequence);
+
+    private final int capacity;
+    private final Map<K, Counter<K>> counters = new HashMap<>();
+    private final TreeSet<Counter<K>> byCount = new TreeSet<>(BY_COUNT);
+    private long sequence;
+
+    public HeavyHitters(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public void add(K key, boolean flagged) {
+        Counter<K> counter = counters.get(key);
+        if (counter != null) {
+            byCount.remove(counter);
+        } else if (counters.size() < capacity) {
+            counter = new Counter<>(key, 0);
+            counters.put(key, counter);
+        } else {
+            Counter<K> smallest = byCount.pollFirst();
+            counters.remove(smallest.key);
+            counter = new Counter<>(key, smallest.count);
+            counters.put(key, counter);
+        }
+        counter.count++;
+        if (flagged) {
+            counter.flagged++;
+        }
+        counter.sequence = sequence++; // Among equal counts the most recent is evicted last
+        byCount.add(counter);
+    }
+
+    /**
+     * The {@code limit} keys with the highest counts, highest first.
+     */
+    public List<Entry<K>> top(int limit) {
+        List<Entry<K>> result = new ArrayList<>(Math.min(limit, counters.size()));
+        for (Counter<K> counter : byCount.descendingSet()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(new Entry<>(counter.key, counter.count, counter.error, counter.flagged));
+        }
+        return result;
+    }
+
+    /**
+     * Halves every count so the ranking follows recent traffic; keys that drop to zero are let go.
+     */
+    public void decay() {
+        List<Counter<K>> kept = new ArrayList<>(byCount);
+        byCount.clear();
+        for (Counter<K> counter : kept) {
+            counter.count /= 2;
+            counter.error /= 2;
+            counter.flagged /= 2;
+            if (counter.count == 0) {
+                counters.remove(counter.key);
+            } else {
+                byCount.add(counter);
+            }
+        }
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    /**
+     * A tracked key: {@code count - error} of its occurrences were seen since it was last
+     * admitted, and {@code flagged} of those were flagged.
+     */
+    public record Entry<K>(K key, long count, long error, long flagged) {
+    }
+
+    private static final class Counter<K> {
+        private final K key;
+        private long count;
+        private long error;
+        private long flagged;
+        private long sequence;
+
+        Counter(K key, long inherited) {
+            this.key = key;
+            this.count = inherited;
+            this.error = inherited;
+        }
+    }
+}
@@ -35,6 +35,7 @@ public class PaymentService {
     private final EmailService emailService;
     private final PdfService pdfService;
     private final CloudinaryService cloudinaryService;
+    private final PropertyService propertyService;
 
     @Value("${razorpay.key_id:rzp_test_placeholder}")
     private String razorpayKeyId;
@@ -45,7 +46,7 @@ public class PaymentService {
     public PaymentService(PaymentRepository paymentRepository, PropertyRepository propertyRepository,
             UserRepository userRepository, RentRequestRepository rentRequestRepository,
             RentSubscriptionRepository rentSubscriptionRepository, EmailService emailService,
-            PdfService pdfService, CloudinaryService cloudinaryService) {
+            PdfService pdfService, CloudinaryService cloudinaryService, PropertyService propertyService) {
         this.paymentRepository = paymentRepository;
         this.propertyRepository = propertyRepository;
         this.userRepository = userRepository;
@@ -54,6 +55,7 @@ public class PaymentService {
         this.emailService = emailService;
         this.pdfService = pdfService;
         this.cloudinaryService = cloudinaryService;
+        this.propertyService = propertyService;
     }
 
     @Transactional
@@ -213,6 +215,8 @@ public class PaymentService {
                 property.setRentalStatus(Property.RentalStatus.RENTED); // Occupied
             }
             propertyRepository.save(property);
+            // Availability changed to SOLD/RENTED - keep the listing catalog in sync
+            propertyService.refreshCatalogEntry(property);
         }
 
         Payment savedPayment = paymentRepository.save(payment);
@@ -0,0 +1,117 @@
+package com.buildex.service;
+
+import com.buildex.config.CacheConfig;
+import com.buildex.entity.Property;
+import com.buildex.service.catalog.CatalogEntry;
+import com.buildex.service.catalog.CatalogListener;
+import com.buildex.service.catalog.CatalogSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Evicts only the cached listing/search pages a property change can affect, instead of
+ * clearing properties_list and properties_search on every write.
+ *
+ * properties_search keys are {purpose, propertyType, city, area, availabilityStatus, search, page, size};
+ * a page is dropped when the property matched its filters before or after the change.
+ * properties_list keys are {page, size}; an in-place edit only drops the page holding the
+ * property and a move within the listing the pages between its old and new rows, while an
+ * insert/removal drops every page, since each one carries the total count.
+ *
+ * Every round of evictions first bumps {@link #generation()}; a page loaded while it changed
+ * may predate the change and must not be kept (see PropertyService).
+ */
+@Component
+public class PropertyCacheInvalidator implements CatalogListener {
+
+    private final CacheManager cacheManager;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Value("${app.search.mode:catalog}")
+    private SearchMode searchMode;
+
+    public PropertyCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void onEntryChanged(CatalogSnapshot before, CatalogSnapshot after, CatalogEntry previous,
+            CatalogEntry current) {
+        generation.incrementAndGet();
+        long id = previous != null ? previous.getId() : current.getId();
+        int rowBefore = before.rowOf(id);
+        int rowAfter = after.rowOf(id);
+        if (rowBefore < 0 || rowAfter < 0) {
+            // Added or removed: totalElements / totalPages / last change on every page
+            evictAll(CacheConfig.PROPERTIES_LIST);
+        } else {
+            int firstRow = Math.min(rowBefore, rowAfter);
+            int lastRow = Math.max(rowBefore, rowAfter);
+            evictKeys(CacheConfig.PROPERTIES_LIST, key -> {
+                int page = ((Number) key.get(0)).intValue();
+                int size = ((Number) key.get(1)).intValue();
+                return page >= firstRow / size && page <= lastRow / size;
+            });
+        }
+
+        if (searchMode == SearchMode.POSTGRES) {
+            // Database search also matches description words, which the catalog cannot check
+            evictAll(CacheConfig.PROPERTIES_SEARCH);
+            return;
+        }
+        evictKeys(CacheConfig.PROPERTIES_SEARCH, key -> matches(previous, key) || matches(current, key));
+    }
+
+    @Override
+    public void onCatalogLoaded(CatalogSnapshot snapshot) {
+        generation.incrementAndGet();
+        // Pages cached before the load may predate writes the catalog never saw
+        evictAll(CacheConfig.PROPERTIES_LIST);
+        evictAll(CacheConfig.PROPERTIES_SEARCH);
+    }
+
+    @Override
+    public void onUntrackedChange(long propertyId) {
+        generation.incrementAndGet();
+        evictAll(CacheConfig.PROPERTIES_LIST);
+        evictAll(CacheConfig.PROPERTIES_SEARCH);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    private static boolean matches(CatalogEntry entry, List<?> key) {
+        return entry != null && entry.matches(
+                (Property.Purpose) key.get(0),
+                (Property.PropertyType) key.get(1),
+                (String) key.get(2),
+                (String) key.get(3),
+                (Property.AvailabilityStatus) key.get(4),
+                (String) key.get(5));
+    }
+
+    private void evictKeys(String cacheName, Predicate<List<?>> affected) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof CaffeineCache caffeineCache) {
+            caffeineCache.getNativeCache().asMap().keySet()
+                    .removeIf(key -> !(key instanceof List<?> list) || affected.test(list));
+        } else if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    private void evictAll(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+}
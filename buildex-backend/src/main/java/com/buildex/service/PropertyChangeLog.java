@@ -0,0 +1,92 @@
+package com.buildex.service;
+
+import com.buildex.entity.PropertyChange;
+import com.buildex.repository.PropertyChangeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Append-only log of property writes behind the /api/properties/changes feed.
+ *
+ * A write's row is inserted in the writing transaction just before it commits, so the log never
+ * records a write that rolled back. Row ids are the catalogue versions. The insert takes a
+ * transaction-scoped advisory lock, so versions become visible in order: a reader that has seen
+ * version n will never later find a committed version below n. Taking the lock only at commit
+ * time keeps it from being held through whatever else the writing transaction does (receipts,
+ * uploads, email). Rows older than the retention period are pruned daily, except the newest,
+ * which keeps the latest version (and clients already at it) valid through quiet periods.
+ */
+@Component
+public class PropertyChangeLog {
+
+    private static final long APPEND_LOCK_KEY = 0x70726f7063686eL; // "propchn"
+
+    private final PropertyChangeRepository propertyChangeRepository;
+    private final TransactionTemplate transaction;
+
+    @Value("${app.changes.retention-days:30}")
+    private int retentionDays;
+
+    public PropertyChangeLog(PropertyChangeRepository propertyChangeRepository,
+            PlatformTransactionManager transactionManager) {
+        this.propertyChangeRepository = propertyChangeRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Records a change when the current transaction is about to commit (right away, in a
+     * transaction of its own, outside one).
+     */
+    public void append(long propertyId, PropertyChange.ChangeType changeType) {
+        if (!TransactionHooks.beforeCommit(() -> insert(propertyId, changeType))) {
+            transaction.executeWithoutResult(status -> insert(propertyId, changeType));
+        }
+    }
+
+    private void insert(long propertyId, PropertyChange.ChangeType changeType) {
+        propertyChangeRepository.lockForAppend(APPEND_LOCK_KEY);
+        propertyChangeRepository.save(PropertyChange.builder()
+                .propertyId(propertyId)
+                .changeType(changeType)
+                .build());
+    }
+
+    // Changes after `since`, oldest first
+    public List<PropertyChange> changesAfter(long since, int limit) {
+        return propertyChangeRepository.findByIdGreaterThanOrderByIdAsc(since, PageRequest.of(0, limit));
+    }
+
+    public long latestVersion() {
+        Long latest = propertyChangeRepository.findLatestVersion();
+        return latest == null ? 0 : latest;
+    }
+
+    /**
+     * Whether every change after {@code since} is still in the log (false for versions this log
+     * never issued).
+     */
+    public boolean isRetained(long since) {
+        Long oldest = propertyChangeRepository.findOldestVersion();
+        if (oldest == null) {
+            return since <= latestVersion(); // Nothing logged yet
+        }
+        return since >= oldest - 1 && since <= latestVersion();
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void prune() {
+        int removed = propertyChangeRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        if (removed > 0) {
+            System.out.println("Pruned " + removed + " property change log entries older than " + retentionDays + " days");
+        }
+    }
+}
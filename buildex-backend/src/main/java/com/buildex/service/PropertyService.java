@@ -8,15 +8,21 @@ import com.buildex.repository.ComplaintRepository;
 import com.buildex.repository.EnquiryRepository;
 import com.buildex.repository.RentRequestRepository;
 import com.buildex.repository.PaymentRepository;
-import lombok.RequiredArgsConstructor;
+import com.buildex.dto.CursorPageDTO;
+import com.buildex.dto.PropertyDetailDTO;
+import com.buildex.service.catalog.CatalogCursor;
+import com.buildex.service.catalog.CatalogSort;
+import com.buildex.service.catalog.CatalogEntry;
+import com.buildex.service.catalog.CatalogSnapshot;
+import com.buildex.service.catalog.PropertyCatalog;
+import com.buildex.service.catalog.RangeFilter;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
 import com.buildex.dto.PropertySummaryDTO;
-import org.springframework.cache.annotation.Cacheable;
+import com.buildex.config.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 
 @Service
 public class PropertyService {
@@ -27,23 +33,71 @@ public class PropertyService {
     private final EnquiryRepository enquiryRepository;
     private final RentRequestRepository rentRequestRepository;
     private final PaymentRepository paymentRepository;
+    private final PropertyCatalog propertyCatalog;
+    private final PropertyVersions propertyVersions;
+    private final com.buildex.service.catalog.MarkerClusterIndex markerClusters;
+    private final com.buildex.service.catalog.SuggestionIndex suggestions;
+    private final com.buildex.service.catalog.SimilarPropertiesIndex similarProperties;
+    private final com.buildex.service.catalog.PriceStatisticsIndex priceStatistics;
+    private final org.springframework.transaction.support.TransactionTemplate readOnlyTransaction;
+    private final com.fasterxml.jackson.databind.ObjectMapper objectMapper;
+    private final org.springframework.cache.CacheManager cacheManager;
+    private final PropertyChangeLog changeLog;
+    private final PropertyViewStats viewStats;
+    private final PropertyCacheInvalidator cacheInvalidator;
+
+    // Concurrent cache misses for the same key share one database load
+    private final SingleFlight<List<Long>, Optional<PropertyDetailDTO>> detailLoads = new SingleFlight<>("property_details");
+    private final SingleFlight<List<Object>, org.springframework.data.domain.Page<PropertySummaryDTO>> searchLoads =
+            new SingleFlight<>("properties_search");
+
+    // Max ids per batched thumbnail / amenity lookup
+    private static final int THUMBNAIL_BATCH_SIZE = 1000;
+
+    @org.springframework.beans.factory.annotation.Value("${app.search.mode:catalog}")
+    private SearchMode searchMode;
 
     public PropertyService(PropertyRepository propertyRepository,
             UserRepository userRepository,
             ComplaintRepository complaintRepository,
             EnquiryRepository enquiryRepository,
             RentRequestRepository rentRequestRepository,
-            PaymentRepository paymentRepository) {
+            PaymentRepository paymentRepository,
+            PropertyCatalog propertyCatalog,
+            PropertyVersions propertyVersions,
+            com.buildex.service.catalog.MarkerClusterIndex markerClusters,
+            com.buildex.service.catalog.SuggestionIndex suggestions,
+            com.buildex.service.catalog.SimilarPropertiesIndex similarProperties,
+            com.buildex.service.catalog.PriceStatisticsIndex priceStatistics,
+            org.springframework.transaction.PlatformTransactionManager transactionManager,
+            com.fasterxml.jackson.databind.ObjectMapper objectMapper,
+            org.springframework.cache.CacheManager cacheManager,
+            PropertyChangeLog changeLog,
+            PropertyViewStats viewStats,
+            PropertyCacheInvalidator cacheInvalidator) {
         this.propertyRepository = propertyRepository;
         this.userRepository = userRepository;
         this.complaintRepository = complaintRepository;
         this.enquiryRepository = enquiryRepository;
         this.rentRequestRepository = rentRequestRepository;
         this.paymentRepository = paymentRepository;
+        this.propertyCatalog = propertyCatalog;
+        this.propertyVersions = propertyVersions;
+        this.markerClusters = markerClusters;
+        this.suggestions = suggestions;
+        this.similarProperties = similarProperties;
+        this.priceStatistics = priceStatistics;
+        this.readOnlyTransaction = new org.springframework.transaction.support.TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        this.changeLog = changeLog;
+        this.viewStats = viewStats;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
+    // New properties start unverified, so no listing or search page can change (the city list can)
     @org.springframework.transaction.annotation.Transactional
-    @CacheEvict(value = { "properties_list", "properties_search" }, allEntries = true)
     public Property createProperty(Long userId, Property property) {
         return userRepository.findById(userId)
                 .map(user -> {
@@ -53,36 +107,228 @@ public class PropertyService {
                     }
                     property.setBuilder(user);
                     property.setIsVerified(false); // Force manual verification by admin
-                    return propertyRepository.save(property);
+                    Property saved = propertyRepository.save(property);
+                    propertyVersions.propertyChanged(saved.getId());
+                    return saved;
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
     }
 
-    @Cacheable(value = "property_details", key = "#id")
+    // Uncached: property_details holds PropertyDetailDTO read models (see getPropertyDetail)
     public Optional<Property> getPropertyById(Long id) {
         return propertyRepository.findById(id);
     }
 
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    @Cacheable(value = "property_details", key = "#id")
     public Optional<Property> getPropertyByIdEager(Long id) {
+        return loadPropertyEager(id);
+    }
+
+    // Detail read model with its JSON pre-serialized, cached in property_details. A cached detail
+    // older than the property's version (stored by a load that raced a write) counts as a miss.
+    // Not @Transactional: only the request that actually loads opens a transaction, so requests
+    // waiting on a coalesced load hold no connection.
+    public Optional<PropertyDetailDTO> getPropertyDetail(Long id) {
+        long version = propertyVersions.propertyVersion(id);
+        org.springframework.cache.Cache cache = cacheManager.getCache(CacheConfig.PROPERTY_DETAILS);
+        org.springframework.cache.Cache.ValueWrapper hit = cache != null ? cache.get(id) : null;
+        if (hit != null && hit.get() instanceof PropertyDetailDTO detail && detail.getVersion() >= version) {
+            return Optional.of(detail);
+        }
+        Optional<PropertyDetailDTO> loaded = detailLoads.execute(List.of(id, version), () ->
+                readOnlyTransaction.execute(status -> loadPropertyEager(id)
+                        .map(property -> PropertyDetailDTO.of(property, objectMapper, version))));
+        if (cache != null) {
+            loaded.ifPresent(detail -> cache.put(id, detail));
+        }
+        return loaded;
+    }
+
+    // Most change log entries read per change feed call
+    public static final int MAX_CHANGES = 1000;
+
+    /**
+     * Listings created, changed or removed after catalogue version {@code since}, as current
+     * summaries plus deleted ids. Without {@code since} only the current version is returned, to
+     * start from after a full download.
+     */
+    public com.buildex.dto.PropertyChangesDTO getChangesSince(Long since, int limit) {
+        if (since == null) {
+            return com.buildex.dto.PropertyChangesDTO.builder()
+                    .version(changeLog.latestVersion())
+                    .upserted(List.of())
+                    .deleted(List.of())
+                    .build();
+        }
+        if (limit < 1 || limit > MAX_CHANGES) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CHANGES);
+        }
+        if (!changeLog.isRetained(since)) {
+            throw new com.buildex.exception.ChangeLogExpiredException(
+                    "Changes since version " + since + " are no longer available; download the catalogue again");
+        }
+        return readOnlyTransaction.execute(status -> {
+            List<com.buildex.entity.PropertyChange> changes = changeLog.changesAfter(since, limit);
+            // Several changes to one property collapse into its current state
+            java.util.Set<Long> changedIds = new java.util.LinkedHashSet<>();
+            for (com.buildex.entity.PropertyChange change : changes) {
+                changedIds.add(change.getPropertyId());
+            }
+            java.util.Map<Long, Property> verified = new java.util.HashMap<>();
+            if (!changedIds.isEmpty()) {
+                for (Property property : propertyRepository.findAllByIdWithBuilder(changedIds)) {
+                    if (Boolean.TRUE.equals(property.getIsVerified())) {
+                        verified.put(property.getId(), property);
+                    }
+                }
+            }
+            List<Property> upserted = new java.util.ArrayList<>();
+            List<Long> deleted = new java.util.ArrayList<>();
+            for (Long id : changedIds) {
+                Property property = verified.get(id);
+                if (property != null) {
+                    upserted.add(property);
+                } else {
+                    deleted.add(id);
+                }
+            }
+            return com.buildex.dto.PropertyChangesDTO.builder()
+                    .version(changes.isEmpty() ? since : changes.get(changes.size() - 1).getId())
+                    .hasMore(changes.size() == limit)
+                    .upserted(convertToSummaryDTOs(upserted))
+                    .deleted(deleted)
+                    .build();
+        });
+    }
+
+    // Most ids accepted by one batch request (also the entity's collection @BatchSize)
+    public static final int MAX_BATCH_IDS = 100;
+
+    /**
+     * Details of several properties in request order, skipping unknown ids. Hits come from
+     * property_details; all misses are loaded in one query, their collections in batched
+     * queries, and then cached.
+     */
+    public List<PropertyDetailDTO> getPropertyDetails(List<Long> ids) {
+        List<Long> requested = checkBatch(ids);
+        org.springframework.cache.Cache cache = cacheManager.getCache("property_details");
+        java.util.Map<Long, PropertyDetailDTO> details = new java.util.HashMap<>();
+        List<Long> misses = new java.util.ArrayList<>();
+        java.util.Map<Long, Long> versions = new java.util.HashMap<>();
+        for (Long id : requested) {
+            long version = propertyVersions.propertyVersion(id);
+            versions.put(id, version);
+            org.springframework.cache.Cache.ValueWrapper hit = cache != null ? cache.get(id) : null;
+            if (hit != null && hit.get() instanceof PropertyDetailDTO detail && detail.getVersion() >= version) {
+                details.put(id, detail);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            List<PropertyDetailDTO> loaded = readOnlyTransaction.execute(status ->
+                    loadPropertiesEager(misses).stream()
+                            .map(property -> PropertyDetailDTO.of(property, objectMapper, versions.get(property.getId())))
+                            .toList());
+            for (PropertyDetailDTO detail : loaded) {
+                details.put(detail.getId(), detail);
+                if (cache != null) {
+                    cache.put(detail.getId(), detail); // An out-of-date stamp only causes a reload
+                }
+            }
+        }
+        List<PropertyDetailDTO> result = new java.util.ArrayList<>(requested.size());
+        for (Long id : requested) {
+            PropertyDetailDTO detail = details.get(id);
+            if (detail != null) {
+                result.add(detail);
+            }
+        }
+        return result;
+    }
+
+    // Summaries of several verified properties in request order, from the in-memory catalog
+    public List<PropertySummaryDTO> getPropertySummaries(List<Long> ids) {
+        List<Long> requested = checkBatch(ids);
+        CatalogSnapshot snapshot = catalog();
+        List<PropertySummaryDTO> result = new java.util.ArrayList<>(requested.size());
+        for (Long id : requested) {
+            CatalogEntry entry = snapshot.get(id);
+            if (entry != null) {
+                result.add(entry.getSummary());
+            }
+        }
+        return result;
+    }
+
+    // Most viewed verified listings lately, from the running view counts
+    public List<com.buildex.dto.TrendingPropertyDTO> getTrendingProperties(int limit) {
+        if (limit < 1 || limit > PropertyViewStats.MAX_TRENDING) {
+            throw new IllegalArgumentException("limit must be between 1 and " + PropertyViewStats.MAX_TRENDING);
+        }
+        CatalogSnapshot snapshot = catalog();
+        List<com.buildex.dto.TrendingPropertyDTO> result = new java.util.ArrayList<>(limit);
+        for (PropertyViewStats.ViewCount count : viewStats.trending()) {
+            CatalogEntry entry = snapshot.get(count.propertyId());
+            if (entry == null) {
+                continue; // Deleted or no longer verified
+            }
+            result.add(com.buildex.dto.TrendingPropertyDTO.builder()
+                    .property(entry.getSummary())
+                    .views(count.views())
+                    .score(count.score())
+                    .build());
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    // Distinct ids in their first-seen order
+    private static List<Long> checkBatch(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("ids is required");
+        }
+        List<Long> distinct = new java.util.ArrayList<>(new java.util.LinkedHashSet<>(ids));
+        distinct.remove(null);
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids per request");
+        }
+        return distinct;
+    }
+
+    private List<Property> loadPropertiesEager(List<Long> ids) {
+        List<Property> properties = propertyRepository.findAllByIdWithBuilder(ids);
+        // Touching the first property's collections loads them for up to @BatchSize properties at once
+        for (Property property : properties) {
+            if (property.getGalleryImages() != null) property.getGalleryImages().size();
+            if (property.getAmenities() != null) property.getAmenities().size();
+            if (property.getPanoramaImages() != null) property.getPanoramaImages().size();
+        }
+        return properties;
+    }
+
+    private Optional<Property> loadPropertyEager(Long id) {
         Optional<Property> propertyOpt = propertyRepository.findByIdWithBuilder(id);
-        
+
         propertyOpt.ifPresent(property -> {
             if (property.getGalleryImages() != null) property.getGalleryImages().size();
             if (property.getAmenities() != null) property.getAmenities().size();
             if (property.getPanoramaImages() != null) property.getPanoramaImages().size();
             if (property.getBuilder() != null) property.getBuilder().getEmail();
         });
-        
+
         return propertyOpt;
     }
 
+    public List<java.util.Map<String, Object>> getLoadCoalescingStats() {
+        return List.of(detailLoads.getStats(), searchLoads.getStats());
+    }
+
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<PropertySummaryDTO> getAllPropertiesForAdmin() {
-        return propertyRepository.findAllWithBuilder().stream()
-                .map(this::convertToSummaryDTO)
-                .collect(java.util.stream.Collectors.toList());
+        return convertToSummaryDTOs(propertyRepository.findAllWithBuilder());
     }
 
     public List<Property> getAllProperties() {
@@ -91,24 +337,145 @@ public class PropertyService {
                 org.springframework.data.domain.Sort.by("createdAt").descending())).getContent();
     }
 
-    @org.springframework.data.jpa.repository.EntityGraph(attributePaths = { "builder" })
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    @Cacheable(value = "properties_list", key = "{#page, #size}")
     public org.springframework.data.domain.Page<PropertySummaryDTO> getAllPropertiesSummaries(int page,
             int size) {
-        return propertyRepository.findByIsVerifiedTrue(org.springframework.data.domain.PageRequest.of(page, size,
-                org.springframework.data.domain.Sort.by("createdAt").descending()))
-                .map(this::convertToSummaryDTO);
+        // Served from the in-memory catalog; the database is only hit on a cold start
+        return cached(CacheConfig.PROPERTIES_LIST, java.util.Arrays.asList(page, size),
+                cacheInvalidator::generation, () -> catalog().page(page, size));
+    }
+
+    /**
+     * Cache-aside read of a listing/search page or the city list. Evictions run when a write
+     * commits, but a load that started before it can still finish afterwards; if the given
+     * eviction generation moved while loading, the value just stored may be that stale result,
+     * so it is dropped again.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String cacheName, Object key, java.util.function.LongSupplier generation,
+            java.util.function.Supplier<T> loader) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return loader.get();
+        }
+        org.springframework.cache.Cache.ValueWrapper hit = cache.get(key);
+        if (hit != null) {
+            return (T) hit.get();
+        }
+        long before = generation.getAsLong();
+        T value = loader.get();
+        cache.put(key, value);
+        if (generation.getAsLong() != before) {
+            cache.evict(key);
+        }
+        return value;
+    }
+
+    private CatalogSnapshot catalog() {
+        return propertyCatalog.get(() -> readOnlyTransaction.execute(status -> loadCatalogEntries()));
+    }
+
+    private List<CatalogEntry> loadCatalogEntries() {
+        List<Property> properties = propertyRepository.findAllVerifiedWithBuilder();
+        List<PropertySummaryDTO> summaries = convertToSummaryDTOs(properties);
+
+        // Amenities feed relevance search; fetched in batches rather than one lazy load per property
+        List<Long> ids = properties.stream().map(Property::getId).toList();
+        java.util.Map<Long, List<String>> amenities = new java.util.HashMap<>();
+        for (int from = 0; from < ids.size(); from += THUMBNAIL_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + THUMBNAIL_BATCH_SIZE, ids.size()));
+            for (Object[] row : propertyRepository.findAmenities(batch)) {
+                amenities.computeIfAbsent(((Number) row[0]).longValue(), id -> new java.util.ArrayList<>())
+                        .add((String) row[1]);
+            }
+        }
+
+        List<CatalogEntry> entries = new java.util.ArrayList<>(properties.size());
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            entries.add(toCatalogEntry(property, summaries.get(i), amenities.get(property.getId())));
+        }
+        return entries;
+    }
+
+    private CatalogEntry toCatalogEntry(Property property) {
+        return toCatalogEntry(property, convertToSummaryDTO(property), property.getAmenities());
+    }
+
+    private CatalogEntry toCatalogEntry(Property property, PropertySummaryDTO summary,
+            java.util.Collection<String> amenities) {
+        long createdAt = property.getCreatedAt() != null
+                ? property.getCreatedAt().toInstant(java.time.ZoneOffset.UTC).toEpochMilli()
+                : 0L;
+        String companyName = property.getBuilder() != null ? property.getBuilder().getCompanyName() : null;
+        String fullName = property.getBuilder() != null ? property.getBuilder().getFullName() : null;
+        return new CatalogEntry(summary, createdAt, companyName, fullName, property.getDescription(), amenities);
+    }
+
+    // Brings the catalog entry, change log and ETag versions for a saved property in line with its
+    // new state (the log row is written as the surrounding transaction commits, the rest after it has)
+    public void refreshCatalogEntry(Property property) {
+        if (Boolean.TRUE.equals(property.getIsVerified())) {
+            propertyCatalog.upsert(toCatalogEntry(property));
+        } else {
+            propertyCatalog.remove(property.getId());
+        }
+        changeLog.append(property.getId(), com.buildex.entity.PropertyChange.ChangeType.UPSERT);
+        propertyVersions.propertyChanged(property.getId());
     }
 
     private PropertySummaryDTO convertToSummaryDTO(Property property) {
         // Determine thumbnail WITHOUT accessing lazy-loaded galleryImages
-        String thumbnail = property.getImageUrl();
-        if (thumbnail == null || thumbnail.isEmpty()) {
-            // Use native query to get first gallery image — avoids lazy loading
+        String thumbnail = storedThumbnail(property);
+        if (thumbnail == null) {
+            // Not backfilled yet: use native query to get first gallery image — avoids lazy loading
             thumbnail = propertyRepository.findThumbnail(property.getId());
         }
+        return buildSummaryDTO(property, thumbnail);
+    }
 
+    // Converts a whole page/list; thumbnails missing from the column are resolved in one query
+    private List<PropertySummaryDTO> convertToSummaryDTOs(List<Property> properties) {
+        List<PropertySummaryDTO> summaries = new java.util.ArrayList<>(properties.size());
+        List<Long> missing = new java.util.ArrayList<>();
+        for (Property property : properties) {
+            String thumbnail = storedThumbnail(property);
+            if (thumbnail == null) {
+                missing.add(property.getId());
+            }
+            summaries.add(buildSummaryDTO(property, thumbnail));
+        }
+        if (!missing.isEmpty()) {
+            java.util.Map<Long, String> thumbnails = new java.util.HashMap<>();
+            for (int from = 0; from < missing.size(); from += THUMBNAIL_BATCH_SIZE) {
+                List<Long> batch = missing.subList(from, Math.min(from + THUMBNAIL_BATCH_SIZE, missing.size()));
+                for (Object[] row : propertyRepository.findFirstGalleryImages(batch)) {
+                    thumbnails.put(((Number) row[0]).longValue(), (String) row[1]);
+                }
+            }
+            for (PropertySummaryDTO summary : summaries) {
+                if (summary.getThumbnail() == null) {
+                    summary.setThumbnail(thumbnails.get(summary.getId()));
+                }
+            }
+        }
+        return summaries;
+    }
+
+    private org.springframework.data.domain.Page<PropertySummaryDTO> convertToSummaryDTOs(
+            org.springframework.data.domain.Page<Property> page) {
+        return new org.springframework.data.domain.PageImpl<>(convertToSummaryDTOs(page.getContent()),
+                page.getPageable(), page.getTotalElements());
+    }
+
+    private static String storedThumbnail(Property property) {
+        if (property.getImageUrl() != null && !property.getImageUrl().isEmpty()) {
+            return property.getImageUrl();
+        }
+        String thumbnail = property.getThumbnailUrl();
+        return thumbnail != null && !thumbnail.isEmpty() ? thumbnail : null;
+    }
+
+    private PropertySummaryDTO buildSummaryDTO(Property property, String thumbnail) {
         return PropertySummaryDTO.builder()
                 .id(property.getId())
                 .title(property.getTitle())
@@ -134,8 +501,7 @@ public class PropertyService {
                 .build();
     }
 
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    @Cacheable(value = "properties_search", key = "{#purpose, #propertyType, #city, #area, #availabilityStatus, #search, #page, #size}")
+    // Cached in properties_search under {purpose, propertyType, city, area, availabilityStatus, search, page, size}
     public org.springframework.data.domain.Page<PropertySummaryDTO> searchPropertiesSummariesPaginated(
             Property.Purpose purpose,
             Property.PropertyType propertyType,
@@ -144,10 +510,169 @@ public class PropertyService {
             Property.AvailabilityStatus availabilityStatus,
             String search,
             int page, int size) {
-        return propertyRepository.findByFiltersPaginated(purpose, propertyType, city, area, availabilityStatus, search,
-                org.springframework.data.domain.PageRequest.of(page, size,
-                        org.springframework.data.domain.Sort.by("createdAt").descending()))
-                .map(this::convertToSummaryDTO);
+        List<Object> key = java.util.Arrays.asList(purpose, propertyType, city, area, availabilityStatus, search, page, size);
+        return cached(CacheConfig.PROPERTIES_SEARCH, key, cacheInvalidator::generation, () -> {
+            if (searchMode == SearchMode.POSTGRES) {
+                return searchRankedInDatabase(purpose, propertyType, city, area, availabilityStatus, search, page, size);
+            }
+            // Same semantics as PropertyRepository.findByFiltersPaginated, answered from the in-memory catalog
+            return catalog().search(purpose, propertyType, city, area, availabilityStatus, search, page, size);
+        });
+    }
+
+    // Relevance-ranked search against the normalized columns; also matches words in the description
+    private org.springframework.data.domain.Page<PropertySummaryDTO> searchRankedInDatabase(
+            Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            String city,
+            String area,
+            Property.AvailabilityStatus availabilityStatus,
+            String search,
+            int page, int size) {
+        List<Object> key = java.util.Arrays.asList(purpose, propertyType, normalizeSearchTerm(city),
+                normalizeSearchTerm(area), availabilityStatus, normalizeSearchTerm(search), page, size);
+        return searchLoads.execute(key, () -> readOnlyTransaction.execute(status ->
+                convertToSummaryDTOs(propertyRepository.searchRanked(
+                        purpose != null ? purpose.name() : null,
+                        propertyType != null ? propertyType.name() : null,
+                        normalizeSearchTerm(city),
+                        normalizeSearchTerm(area),
+                        availabilityStatus != null ? availabilityStatus.name() : null,
+                        normalizeSearchTerm(search),
+                        org.springframework.data.domain.PageRequest.of(page, size)))));
+    }
+
+    private static String normalizeSearchTerm(String term) {
+        return term != null ? term.toLowerCase(java.util.Locale.ROOT) : null;
+    }
+
+    // Keyset pagination over the catalog: cursor is the nextCursor of the previous page (null for the first)
+    public CursorPageDTO<PropertySummaryDTO> searchPropertiesSummariesAfter(
+            Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            String city,
+            String area,
+            Property.AvailabilityStatus availabilityStatus,
+            String search,
+            String cursor, int size, boolean withTotal) {
+        CatalogCursor after = cursor != null && !cursor.isEmpty() ? CatalogCursor.decode(cursor) : null;
+        return catalog().searchAfter(purpose, propertyType, city, area, availabilityStatus, search,
+                after, size, withTotal);
+    }
+
+    // Price / rent / size / bedroom ranges and value sorts, answered from the catalog's sorted column
+    // indexes. Not cached - there is no database work to save. Always uses catalog search semantics.
+    public org.springframework.data.domain.Page<PropertySummaryDTO> searchPropertiesSummariesRanged(
+            Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            String city,
+            String area,
+            Property.AvailabilityStatus availabilityStatus,
+            String search,
+            RangeFilter ranges,
+            CatalogSort sort,
+            int page, int size) {
+        return catalog().search(purpose, propertyType, city, area, availabilityStatus, search, ranges, sort, page, size);
+    }
+
+    // Most city / area values returned by the facets endpoint
+    private static final int FACET_VALUE_LIMIT = 100;
+
+    // Sidebar counts for a search selection, always answered from the in-memory catalog
+    public com.buildex.dto.PropertyFacetsDTO getFacets(
+            Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            String city,
+            String area,
+            Property.AvailabilityStatus availabilityStatus,
+            String search) {
+        return catalog().facets(purpose, propertyType, city, area, availabilityStatus, search, FACET_VALUE_LIMIT);
+    }
+
+    // Typeahead over cities, areas, builders and titles of verified listings
+    public List<com.buildex.dto.SuggestionDTO> suggest(String query, int limit) {
+        catalog(); // The suggestion index is built when the catalog loads
+        return suggestions.suggest(query, limit);
+    }
+
+    // Price and rent quantiles plus slider histograms for a city, an area of a city or everywhere
+    public com.buildex.dto.PriceStatisticsDTO getPriceStatistics(String city, String area, int buckets) {
+        if (area != null && city == null) {
+            throw new IllegalArgumentException("area requires city");
+        }
+        catalog(); // The statistics are built when the catalog loads
+        return priceStatistics.statistics(city, area, buckets);
+    }
+
+    // "Similar listings" for a verified property, precomputed in memory
+    public List<PropertySummaryDTO> getSimilarProperties(Long id, int limit) {
+        return similarProperties.similar(catalog(), id,
+                Math.max(0, Math.min(limit, com.buildex.service.catalog.SimilarPropertiesIndex.MAX_NEIGHBOURS)));
+    }
+
+    // Largest radius accepted by the nearby search
+    private static final double MAX_RADIUS_KM = 500;
+
+    // Radius search over the catalog's spatial grid; sort is "distance" (default) or "newest"
+    public org.springframework.data.domain.Page<PropertySummaryDTO> searchNearby(
+            Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            Property.AvailabilityStatus availabilityStatus,
+            double lat, double lng, double radiusKm,
+            String sort, int page, int size) {
+        checkCoordinates(lat, lng);
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + (int) MAX_RADIUS_KM + " km");
+        }
+        return catalog().nearby(purpose, propertyType, availabilityStatus, lat, lng, radiusKm,
+                sortByDistance(sort, true), page, size);
+    }
+
+    // Bounding-box search (map viewport); sort is "newest" (default) or "distance" from the box centre
+    public org.springframework.data.domain.Page<PropertySummaryDTO> searchWithin(
+            Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            Property.AvailabilityStatus availabilityStatus,
+            double minLat, double minLng, double maxLat, double maxLng,
+            String sort, int page, int size) {
+        checkCoordinates(minLat, minLng);
+        checkCoordinates(maxLat, maxLng);
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("Bounding box minimums must not exceed its maximums");
+        }
+        return catalog().within(purpose, propertyType, availabilityStatus, minLat, minLng, maxLat, maxLng,
+                sortByDistance(sort, false), page, size);
+    }
+
+    // Map markers for a viewport at a zoom level: one aggregate per grid cell instead of every property
+    public List<com.buildex.dto.MapClusterDTO> getMapClusters(double minLat, double minLng, double maxLat,
+            double maxLng, int zoom) {
+        checkCoordinates(minLat, minLng);
+        checkCoordinates(maxLat, maxLng);
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("Bounding box minimums must not exceed its maximums");
+        }
+        catalog(); // The cluster grid is built when the catalog loads
+        return markerClusters.clusters(minLat, minLng, maxLat, maxLng, zoom);
+    }
+
+    private static void checkCoordinates(double lat, double lng) {
+        if (!(lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180)) {
+            throw new IllegalArgumentException("Invalid coordinates: " + lat + ", " + lng);
+        }
+    }
+
+    private static boolean sortByDistance(String sort, boolean byDefault) {
+        if (sort == null || sort.isEmpty()) {
+            return byDefault;
+        }
+        if ("distance".equalsIgnoreCase(sort)) {
+            return true;
+        }
+        if ("newest".equalsIgnoreCase(sort)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Unknown sort: " + sort);
     }
 
     public org.springframework.data.domain.Page<Property> getAllProperties(int page, int size) {
@@ -170,10 +695,8 @@ public class PropertyService {
     }
 
     @org.springframework.transaction.annotation.Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "property_details", key = "#id"),
-            @CacheEvict(value = { "properties_list", "properties_search" }, allEntries = true)
-    })
+    // Listing/search pages are evicted selectively by PropertyCacheInvalidator once the catalog changes
+    @CacheEvict(value = "property_details", key = "#id")
     public Optional<Property> updateProperty(Long id, Property updatedProperty) {
         return propertyRepository.findById(id).map(existingProperty -> {
             // Update basic fields
@@ -211,6 +734,9 @@ public class PropertyService {
             if (updatedProperty.getPanoramaImages() != null) {
                 existingProperty.setPanoramaImages(updatedProperty.getPanoramaImages());
             }
+            // A gallery-only change does not dirty the row, so refresh thumbnail_url explicitly
+            if (existingProperty.getGalleryImages() != null) existingProperty.getGalleryImages().size();
+            existingProperty.refreshThumbnail();
 
             Property saved = propertyRepository.save(existingProperty);
             
@@ -221,30 +747,30 @@ public class PropertyService {
             
             // Initialize User proxy (builder) - Access non-ID field to force load
             if (saved.getBuilder() != null) saved.getBuilder().getEmail();
-            
+
+            refreshCatalogEntry(saved);
             return saved;
         });
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "property_details", key = "#id"),
-            @CacheEvict(value = { "properties_list", "properties_search" }, allEntries = true)
-    })
+    @org.springframework.transaction.annotation.Transactional
+    // Listing/search pages are evicted selectively by PropertyCacheInvalidator once the catalog changes
+    @CacheEvict(value = "property_details", key = "#id")
     public Optional<Property> updateAvailabilityStatus(Long id, Property.AvailabilityStatus status) {
         Optional<Property> propertyOpt = propertyRepository.findById(id);
         if (propertyOpt.isPresent()) {
             Property property = propertyOpt.get();
             property.setAvailabilityStatus(status);
-            return Optional.of(propertyRepository.save(property));
+            Property saved = propertyRepository.save(property);
+            refreshCatalogEntry(saved);
+            return Optional.of(saved);
         }
         return Optional.empty();
     }
 
     @org.springframework.transaction.annotation.Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "property_details", key = "#id"),
-            @CacheEvict(value = { "properties_list", "properties_search" }, allEntries = true)
-    })
+    // Listing/search pages are evicted selectively by PropertyCacheInvalidator once the catalog changes
+    @CacheEvict(value = "property_details", key = "#id")
     public void deleteProperty(Long id) {
         // Delete related entities first to avoid FK constraint violations
         // RentRequest uses direct ID mapping, so we must delete manually
@@ -256,6 +782,10 @@ public class PropertyService {
         enquiryRepository.deleteByPropertyId(id);
 
         propertyRepository.deleteById(id);
+        propertyCatalog.remove(id);
+        changeLog.append(id, com.buildex.entity.PropertyChange.ChangeType.DELETE);
+        viewStats.forget(id);
+        propertyVersions.propertyChanged(id);
     }
 
     public List<Property> searchProperties(Property.Purpose purpose,
@@ -278,10 +808,8 @@ public class PropertyService {
     }
 
     @org.springframework.transaction.annotation.Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "property_details", key = "#id"),
-            @CacheEvict(value = { "properties_list", "properties_search" }, allEntries = true)
-    })
+    // Listing/search pages are evicted selectively by PropertyCacheInvalidator once the catalog changes
+    @CacheEvict(value = "property_details", key = "#id")
     public Optional<Property> verifyProperty(Long id, Boolean isVerified) {
         return propertyRepository.findById(id).map(property -> {
             property.setIsVerified(isVerified);
@@ -293,13 +821,15 @@ public class PropertyService {
             if (saved.getPanoramaImages() != null) saved.getPanoramaImages().size();
             // Initialize User proxy (builder) - Access non-ID field to force load
             if (saved.getBuilder() != null) saved.getBuilder().getEmail();
-            
+
+            refreshCatalogEntry(saved);
             return saved;
         });
     }
 
-    @Cacheable(value = "cities")
+    // Covers unverified properties too, so it is evicted on every property write (PropertyVersions)
     public List<String> getAllCities() {
-        return propertyRepository.findAllCities();
+        return cached(CacheConfig.CITIES, org.springframework.cache.interceptor.SimpleKey.EMPTY,
+                propertyVersions::generation, propertyRepository::findAllCities);
     }
 }
\ No newline at end of file
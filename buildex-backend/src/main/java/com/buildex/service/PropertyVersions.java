@@ -0,0 +1,84 @@
+package com.buildex.service;
+
+import com.buildex.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters behind the ETags of the public property endpoints.
+ *
+ * The catalogue version covers listings, search and cities; each property also has its own
+ * version for the detail endpoint. Both are bumped once a property write has committed, after
+ * the caches serving the old data have been evicted. Eviction alone does not keep a load that
+ * started before the commit from storing its old result afterwards, so cached values are guarded
+ * too: property details carry the version read before their load and are reloaded once it is
+ * out of date, and the city list is only kept when no eviction ran during its load (see
+ * {@link #generation()}). A request that reads the version first therefore never pairs a new tag
+ * with old data. Tags carry a per-process epoch so they do not repeat across restarts.
+ */
+@Component
+public class PropertyVersions {
+
+    private final CacheManager cacheManager;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong(); // Bumped before each eviction
+    private final ConcurrentHashMap<Long, Long> propertyVersions = new ConcurrentHashMap<>();
+
+    public PropertyVersions(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Records a change to the given property once the current transaction commits.
+     * Call after any catalog update for the same write, so listing pages are already evicted.
+     */
+    public void propertyChanged(long propertyId) {
+        TransactionHooks.afterCommit(() -> {
+            generation.incrementAndGet();
+            evict(CacheConfig.PROPERTY_DETAILS, propertyId);
+            // The city list covers unverified properties too, so any write can change it
+            Cache cities = cacheManager.getCache(CacheConfig.CITIES);
+            if (cities != null) {
+                cities.invalidate();
+            }
+            long version = sequence.incrementAndGet();
+            propertyVersions.merge(propertyId, version, Math::max);
+        });
+    }
+
+    public String catalogueTag() {
+        return epoch + "-" + sequence.get();
+    }
+
+    public String propertyTag(long propertyId) {
+        return tag(propertyVersion(propertyId));
+    }
+
+    public long propertyVersion(long propertyId) {
+        return propertyVersions.getOrDefault(propertyId, 0L);
+    }
+
+    public String tag(long version) {
+        return epoch + "-" + version;
+    }
+
+    /**
+     * Changes whenever the evictions of a write are about to run. A value loaded for the cache is
+     * only current if this did not change while it was loaded.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
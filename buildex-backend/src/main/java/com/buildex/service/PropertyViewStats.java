@@ -0,0 +1,239 @@
+package com.buildex.service;
+
+import com.buildex.entity.PropertyStats;
+import com.buildex.repository.PropertyStatsRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Property view counts and the trending ranking.
+ *
+ * A detail view only increments an in-memory {@link LongAdder}, so the request path never writes
+ * to the database and concurrent views of one listing do not contend. Every minute the counts are
+ * drained and written to property_stats with batched upserts.
+ *
+ * Trending uses forward decay: a view at time t weighs 2^(t / half-life), so each half-life
+ * halves the weight of older views relative to new ones, yet a stored score never has to be
+ * decayed. Scores kept this way only grow, so the top K stays exact by re-ranking just the
+ * listings a flush touched, and the trending endpoint reads it without scanning. Scores are
+ * stored as log2 so they never overflow.
+ */
+@Component
+public class PropertyViewStats {
+
+    public static final int MAX_TRENDING = 50;
+
+    private static final int TOP_K = 2 * MAX_TRENDING; // Headroom for listings unverified or deleted since
+    private static final int MAX_PENDING_IDS = 100_000;
+    private static final int FLUSH_BATCH_SIZE = 500;
+    private static final double LN_2 = Math.log(2);
+
+    // Adds views to a row, skipping properties deleted meanwhile; scores add in log2 space
+    private static final String UPSERT =
+            "INSERT INTO property_stats (property_id, view_count, trending_score, last_viewed_at) "
+            + "SELECT ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM properties WHERE id = ?) "
+            + "ON CONFLICT (property_id) DO UPDATE SET "
+            + "view_count = property_stats.view_count + EXCLUDED.view_count, "
+            + "trending_score = GREATEST(property_stats.trending_score, EXCLUDED.trending_score) "
+            + "+ LN(1 + POWER(2, GREATEST(-60, -ABS(property_stats.trending_score - EXCLUDED.trending_score)))) / LN(2), "
+            + "last_viewed_at = EXCLUDED.last_viewed_at";
+
+    private final PropertyStatsRepository propertyStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    @Value("${app.views.trending-half-life-hours:72}")
+    private double halfLifeHours;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<Long, Totals> totals = new HashMap<>(); // Flushed figures, guarded by this
+    private final TreeSet<Ranked> top = new TreeSet<>(); // Guarded by this
+
+    public PropertyViewStats(PropertyStatsRepository propertyStatsRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.propertyStatsRepository = propertyStatsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public void recordView(long propertyId) {
+        LongAdder views = pending.get(propertyId);
+        if (views == null) {
+            if (pending.size() >= MAX_PENDING_IDS) {
+                return; // Flood of distinct ids; the next flush makes room
+            }
+            views = pending.computeIfAbsent(propertyId, id -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        totals.clear();
+        top.clear();
+        for (PropertyStats stats : propertyStatsRepository.findAll()) {
+            totals.put(stats.getPropertyId(), new Totals(stats.getViewCount(), stats.getTrendingScore()));
+            rank(stats.getPropertyId(), stats.getTrendingScore());
+        }
+        System.out.println("Property view stats loaded for " + totals.size() + " properties");
+    }
+
+    /**
+     * Writes the views counted since the last flush. On failure they are put back for the next one.
+     */
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        List<long[]> drained = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long views = entry.getValue().sumThenReset();
+            if (views > 0) {
+                drained.add(new long[] { entry.getKey(), views });
+            } else {
+                pending.remove(entry.getKey(), entry.getValue()); // Idle for a whole interval
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        double weight = logWeightNow();
+        Timestamp viewedAt = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < drained.size(); from += FLUSH_BATCH_SIZE) {
+            List<long[]> batch = drained.subList(from, Math.min(from + FLUSH_BATCH_SIZE, drained.size()));
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (long[] views : batch) {
+                rows.add(new Object[] { views[0], views[1], log2(views[1]) + weight, viewedAt, views[0] });
+            }
+            int[] written;
+            try {
+                written = transaction.execute(status -> jdbcTemplate.batchUpdate(UPSERT, rows));
+            } catch (DataAccessException e) {
+                System.err.println("Property view flush failed, retrying next interval: " + e.getMessage());
+                for (long[] views : drained.subList(from, drained.size())) {
+                    pending.computeIfAbsent(views[0], id -> new LongAdder()).add(views[1]);
+                }
+                return;
+            }
+            synchronized (this) {
+                for (int i = 0; i < batch.size(); i++) {
+                    if (written[i] != 0) { // 0: the property was deleted
+                        long[] views = batch.get(i);
+                        add(views[0], views[1], log2(views[1]) + weight);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Most viewed properties lately, best first (up to {@value #TOP_K}, deleted ones included).
+     */
+    public synchronized List<ViewCount> trending() {
+        double weight = logWeightNow();
+        List<ViewCount> result = new ArrayList<>(top.size());
+        for (Ranked ranked : top) {
+            result.add(new ViewCount(ranked.propertyId(), totals.get(ranked.propertyId()).views(),
+                    Math.pow(2, ranked.score() - weight)));
+        }
+        return result;
+    }
+
+    // Includes views not flushed yet
+    public synchronized ViewCount getViews(long propertyId) {
+        Totals flushed = totals.get(propertyId);
+        LongAdder unflushed = pending.get(propertyId);
+        long views = (flushed != null ? flushed.views() : 0) + (unflushed != null ? unflushed.sum() : 0);
+        double score = flushed != null ? Math.pow(2, flushed.score() - logWeightNow()) : 0;
+        return new ViewCount(propertyId, views, score);
+    }
+
+    // Drops the property's stats; call within the transaction deleting it. The in-memory counts
+    // go once it commits, so a rolled-back delete keeps them
+    public void forget(long propertyId) {
+        propertyStatsRepository.deleteById(propertyId);
+        TransactionHooks.afterCommit(() -> forgetCounts(propertyId));
+    }
+
+    private synchronized void forgetCounts(long propertyId) {
+        pending.remove(propertyId);
+        Totals removed = totals.remove(propertyId);
+        if (removed != null && top.remove(new Ranked(propertyId, removed.score()))) {
+            totals.forEach(this::rankIfAbsent); // Refill the freed slot; deletes are rare
+        }
+    }
+
+    private void add(long propertyId, long views, double score) {
+        Totals previous = totals.get(propertyId);
+        Totals updated = previous == null
+                ? new Totals(views, score)
+                : new Totals(previous.views() + views, logAdd(previous.score(), score));
+        if (previous != null) {
+            top.remove(new Ranked(propertyId, previous.score()));
+        }
+        totals.put(propertyId, updated);
+        rank(propertyId, updated.score());
+    }
+
+    private void rank(long propertyId, double score) {
+        top.add(new Ranked(propertyId, score));
+        if (top.size() > TOP_K) {
+            top.pollLast();
+        }
+    }
+
+    private void rankIfAbsent(long propertyId, Totals stats) {
+        if (!top.contains(new Ranked(propertyId, stats.score()))) {
+            rank(propertyId, stats.score());
+        }
+    }
+
+    // log2 of the weight of a view happening now
+    private double logWeightNow() {
+        return System.currentTimeMillis() / 3_600_000.0 / halfLifeHours;
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / LN_2;
+    }
+
+    // log2(2^a + 2^b)
+    private static double logAdd(double a, double b) {
+        return Math.max(a, b) + Math.log1p(Math.pow(2, -Math.abs(a - b))) / LN_2;
+    }
+
+    /**
+     * A property's all-time views and its trending score: recent views, each halved per
+     * half-life of age.
+     */
+    public record ViewCount(long propertyId, long views, double score) {
+    }
+
+    private record Totals(long views, double score) {
+    }
+
+    private record Ranked(long propertyId, double score) implements Comparable<Ranked> {
+        @Override
+        public int compareTo(Ranked other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : Long.compare(propertyId, other.propertyId);
+        }
+    }
+}
@@ -14,13 +14,16 @@ public class RentRequestService {
     private final RentRequestRepository rentRequestRepository;
     private final com.buildex.repository.PropertyRepository propertyRepository;
     private final EmailService emailService;
+    private final EventHub eventHub;
 
     public RentRequestService(RentRequestRepository rentRequestRepository,
             com.buildex.repository.PropertyRepository propertyRepository,
-            EmailService emailService) {
+            EmailService emailService,
+            EventHub eventHub) {
         this.rentRequestRepository = rentRequestRepository;
         this.propertyRepository = propertyRepository;
         this.emailService = emailService;
+        this.eventHub = eventHub;
     }
 
     @org.springframework.transaction.annotation.Transactional
@@ -31,6 +34,12 @@ public class RentRequestService {
         propertyRepository.findById(rentRequest.getProperty().getId()).ifPresent(property -> {
             if (property.getBuilder() != null) {
                 com.buildex.entity.User builder = property.getBuilder();
+                java.util.Map<String, Object> lead = new java.util.LinkedHashMap<>();
+                lead.put("rentRequestId", savedRequest.getId());
+                lead.put("propertyId", property.getId());
+                lead.put("propertyName", property.getName());
+                eventHub.publish(EventHub.builderTopic(builder.getId()), "rent-request", lead);
+
                 // Note: RentRequest doesn't store a 'message' field in database based on entity
                 // definition?
                 // Wait, creating RentRequest in frontend passed 'message'. If entity differs,
@@ -0,0 +1,189 @@
+package com.buildex.service;
+
+import com.buildex.dto.PropertySummaryDTO;
+import com.buildex.entity.SavedSearch;
+import com.buildex.entity.User;
+import com.buildex.exception.ResourceNotFoundException;
+import com.buildex.repository.SavedSearchRepository;
+import com.buildex.repository.UserRepository;
+import com.buildex.service.catalog.CatalogEntry;
+import com.buildex.service.catalog.CatalogListener;
+import com.buildex.service.catalog.CatalogSnapshot;
+import com.buildex.service.catalog.RangeFilter;
+import com.buildex.service.catalog.SavedSearchIndex;
+import com.buildex.service.catalog.SearchCriteria;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saved searches and their new-listing alerts.
+ *
+ * Searches are held in a {@link SavedSearchIndex} so a listing is matched against the few
+ * searches that could accept it. When a listing enters the catalog - it was verified, or created
+ * already verified - its matches are queued in memory and delivered as one digest email per user
+ * every few minutes. Alerts still queued at shutdown are lost.
+ */
+@Service
+public class SavedSearchService implements CatalogListener {
+
+    public static final int MAX_SEARCHES_PER_USER = 20;
+
+    private static final int MAX_PENDING_ALERTS = 100_000;
+    private static final int MAX_LISTINGS_PER_SEARCH = 10; // Per digest
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+
+    private final SavedSearchIndex index = new SavedSearchIndex();
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Alert> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    public SavedSearchService(SavedSearchRepository savedSearchRepository, UserRepository userRepository,
+            EmailService emailService) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long start = System.currentTimeMillis();
+        for (SavedSearch search : savedSearchRepository.findAllWithUser()) {
+            register(search);
+        }
+        System.out.println("Saved search index loaded: " + index.size() + " searches in "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    public SavedSearch createSavedSearch(Long userId, SavedSearch search) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID cannot be null");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        if (savedSearchRepository.findByUserId(userId).size() >= MAX_SEARCHES_PER_USER) {
+            throw new IllegalArgumentException("A user can keep at most " + MAX_SEARCHES_PER_USER + " saved searches");
+        }
+        criteriaOf(search); // Rejects inverted ranges before anything is stored
+        search.setId(null);
+        search.setUser(user);
+        if (search.getName() == null || search.getName().isBlank()) {
+            search.setName(describe(search));
+        }
+        SavedSearch saved = savedSearchRepository.save(search);
+        register(saved);
+        return saved;
+    }
+
+    public List<SavedSearch> getSavedSearches(Long userId) {
+        return savedSearchRepository.findByUserId(userId);
+    }
+
+    public void deleteSavedSearch(Long id) {
+        if (!savedSearchRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Saved search not found with id: " + id);
+        }
+        savedSearchRepository.deleteById(id);
+        index.remove(id);
+        subscribers.remove(id);
+    }
+
+    @Override
+    public void onEntryChanged(CatalogSnapshot before, CatalogSnapshot after, CatalogEntry previous,
+            CatalogEntry current) {
+        if (previous != null || current == null) {
+            return; // Only listings new to the catalog are announced
+        }
+        for (Long searchId : index.matching(current)) {
+            if (pendingCount.incrementAndGet() > MAX_PENDING_ALERTS) {
+                pendingCount.decrementAndGet();
+                System.err.println("Saved search alert queue full, dropping alert for property " + current.getId());
+                return;
+            }
+            pending.add(new Alert(searchId, current.getSummary()));
+        }
+    }
+
+    /**
+     * Sends the queued alerts, one email per user listing the new matches of each of their searches.
+     */
+    @Scheduled(fixedDelayString = "${app.saved-search.alert-interval-ms:300000}")
+    public void deliverAlerts() {
+        Map<String, Digest> digests = new LinkedHashMap<>();
+        Alert alert;
+        while ((alert = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            Subscriber subscriber = subscribers.get(alert.searchId());
+            if (subscriber == null || subscriber.email() == null) {
+                continue; // Deleted since the listing matched
+            }
+            Digest digest = digests.computeIfAbsent(subscriber.email(), e -> new Digest(subscriber.userName()));
+            List<PropertySummaryDTO> listings = digest.listingsBySearch()
+                    .computeIfAbsent(subscriber.searchName(), n -> new ArrayList<>());
+            PropertySummaryDTO listing = alert.listing();
+            if (listings.size() < MAX_LISTINGS_PER_SEARCH
+                    && listings.stream().noneMatch(l -> l.getId().equals(listing.getId()))) {
+                listings.add(listing);
+            }
+        }
+        digests.forEach((email, digest) ->
+                emailService.sendSavedSearchAlertEmail(email, digest.userName(), digest.listingsBySearch()));
+        if (!digests.isEmpty()) {
+            System.out.println("Saved search alerts sent to " + digests.size() + " users");
+        }
+    }
+
+    private void register(SavedSearch search) {
+        try {
+            index.put(search.getId(), criteriaOf(search));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Skipping saved search " + search.getId() + ": " + e.getMessage());
+            return;
+        }
+        User user = search.getUser();
+        String userName = user.getFullName() != null ? user.getFullName() : user.getUsername();
+        subscribers.put(search.getId(), new Subscriber(user.getEmail(), userName, search.getName()));
+    }
+
+    private static SearchCriteria criteriaOf(SavedSearch search) {
+        return SearchCriteria.of(search.getPurpose(), search.getPropertyType(), search.getAvailabilityStatus(),
+                search.getCity(), search.getArea(), search.getSearch(),
+                RangeFilter.of(search.getMinPrice(), search.getMaxPrice(), search.getMinRent(), search.getMaxRent(),
+                        search.getMinAreaSqft(), search.getMaxAreaSqft(),
+                        search.getMinBedrooms(), search.getMaxBedrooms()));
+    }
+
+    // Default name, e.g. "APARTMENT to BUY in Pune"
+    private static String describe(SavedSearch search) {
+        StringBuilder name = new StringBuilder(search.getPropertyType() != null ? search.getPropertyType().name() : "Properties");
+        if (search.getPurpose() != null) name.append(" to ").append(search.getPurpose().name());
+        if (search.getArea() != null) name.append(" in ").append(search.getArea());
+        if (search.getCity() != null) name.append(search.getArea() != null ? ", " : " in ").append(search.getCity());
+        if (search.getSearch() != null && !search.getSearch().isBlank()) name.append(" matching \"").append(search.getSearch()).append('"');
+        return name.toString();
+    }
+
+    private record Subscriber(String email, String userName, String searchName) {
+    }
+
+    private record Alert(long searchId, PropertySummaryDTO listing) {
+    }
+
+    private record Digest(String userName, Map<String, List<PropertySummaryDTO>> listingsBySearch) {
+        Digest(String userName) {
+            this(userName, new LinkedHashMap<>());
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.buildex.service;
+
+import com.buildex.config.CacheConfig;
+import com.buildex.entity.Property;
+import com.buildex.service.catalog.CatalogEntry;
+import com.buildex.service.catalog.CatalogListener;
+import com.buildex.service.catalog.CatalogSnapshot;
+import jakarta.annotation.PreDestroy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What people search for, and keeping the commonest searches warm in properties_search.
+ *
+ * Every cacheable /api/properties/search request is counted under its properties_search key in
+ * a {@link HeavyHitters} summary, together with whether the page was already cached. Counts are
+ * halved hourly so the ranking follows current traffic. Whenever a catalog change may have
+ * evicted search pages, the top keys that are no longer cached are reloaded shortly after
+ * (bursts of writes coalesce into one run), so the commonest searches rarely run cold.
+ */
+@Component
+public class SearchAnalytics implements CatalogListener {
+
+    public static final int MAX_TOP = 100;
+
+    private static final int TRACKED_KEYS = 1000;
+    private static final int WARM_KEYS = 20;
+    private static final long WARM_MIN_COUNT = 3; // Not worth reloading one-off searches
+    private static final long WARM_DELAY_MS = 1000;
+
+    private final PropertyService propertyService;
+    private final CacheManager cacheManager;
+
+    private final HeavyHitters<SearchKey> hitters = new HeavyHitters<>(TRACKED_KEYS); // Guarded by itself
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder warmed = new LongAdder();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public SearchAnalytics(PropertyService propertyService, CacheManager cacheManager) {
+        this.propertyService = propertyService;
+        this.cacheManager = cacheManager;
+    }
+
+    public boolean isCached(SearchKey key) {
+        // Reads the map directly so the check does not count towards the cache's own hit statistics
+        return cacheManager.getCache(CacheConfig.PROPERTIES_SEARCH) instanceof CaffeineCache cache
+                && cache.getNativeCache().asMap().containsKey(key.cacheKey());
+    }
+
+    public void record(SearchKey key, boolean cached) {
+        searches.increment();
+        if (cached) {
+            cacheHits.increment();
+        }
+        synchronized (hitters) {
+            hitters.add(key, cached);
+        }
+    }
+
+    /**
+     * Totals since startup and the most frequent searches lately, with how often each was
+     * served from the cache.
+     */
+    public Map<String, Object> getReport(int limit) {
+        if (limit < 1 || limit > MAX_TOP) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_TOP);
+        }
+        List<HeavyHitters.Entry<SearchKey>> top;
+        int tracked;
+        synchronized (hitters) {
+            top = hitters.top(limit);
+            tracked = hitters.size();
+        }
+        List<Map<String, Object>> queries = new ArrayList<>(top.size());
+        for (HeavyHitters.Entry<SearchKey> entry : top) {
+            SearchKey key = entry.key();
+            Map<String, Object> query = new LinkedHashMap<>();
+            query.put("purpose", key.purpose());
+            query.put("propertyType", key.propertyType());
+            query.put("city", key.city());
+            query.put("area", key.area());
+            query.put("availabilityStatus", key.availabilityStatus());
+            query.put("search", key.search());
+            query.put("page", key.page());
+            query.put("size", key.size());
+            query.put("count", entry.count());
+            query.put("maxOverestimate", entry.error());
+            long observed = entry.count() - entry.error();
+            query.put("hitRate", observed > 0 ? (double) entry.flagged() / observed : 0.0);
+            queries.add(query);
+        }
+        long total = searches.sum();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("searches", total);
+        report.put("cacheHits", cacheHits.sum());
+        report.put("hitRate", total > 0 ? (double) cacheHits.sum() / total : 0.0);
+        report.put("warmedPages", warmed.sum());
+        report.put("trackedQueries", tracked);
+        report.put("top", queries);
+        return report;
+    }
+
+    @Scheduled(fixedRate = 3_600_000)
+    public void decay() {
+        synchronized (hitters) {
+            hitters.decay();
+        }
+    }
+
+    @Override
+    public void onEntryChanged(CatalogSnapshot before, CatalogSnapshot after, CatalogEntry previous,
+            CatalogEntry current) {
+        invalidated();
+    }
+
+    @Override
+    public void onCatalogLoaded(CatalogSnapshot snapshot) {
+        invalidated();
+    }
+
+    @Override
+    public void onUntrackedChange(long propertyId) {
+        invalidated();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void invalidated() {
+        invalidations.incrementAndGet();
+        if (scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::warm, WARM_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void warm() {
+        scheduled.set(false); // Changes from here on schedule another run
+        long generation = invalidations.get();
+        List<HeavyHitters.Entry<SearchKey>> top;
+        synchronized (hitters) {
+            top = hitters.top(WARM_KEYS);
+        }
+        for (HeavyHitters.Entry<SearchKey> entry : top) {
+            SearchKey key = entry.key();
+            if (entry.count() < WARM_MIN_COUNT || isCached(key)) {
+                continue;
+            }
+            try {
+                // Stores the page in properties_search (unless a change raced the load)
+                propertyService.searchPropertiesSummariesPaginated(key.purpose(), key.propertyType(), key.city(),
+                        key.area(), key.availabilityStatus(), key.search(), key.page(), key.size());
+                warmed.increment();
+            } catch (RuntimeException e) {
+                System.err.println("Search cache warmup failed for " + key + ": " + e.getMessage());
+            }
+            if (invalidations.get() != generation) {
+                return; // Leave the rest to the run the change scheduled
+            }
+        }
+    }
+
+    /**
+     * A cacheable search, with the text filters lower-cased: catalog and database search both
+     * ignore case, so requests differing only in case share one properties_search entry.
+     */
+    public record SearchKey(Property.Purpose purpose, Property.PropertyType propertyType, String city, String area,
+            Property.AvailabilityStatus availabilityStatus, String search, int page, int size) {
+
+        public static SearchKey of(Property.Purpose purpose, Property.PropertyType propertyType, String city,
+                String area, Property.AvailabilityStatus availabilityStatus, String search, int page, int size) {
+            return new SearchKey(purpose, propertyType, lower(city), lower(area), availabilityStatus, lower(search),
+                    page, size);
+        }
+
+        // Same shape as the properties_search key of searchPropertiesSummariesPaginated
+        List<Object> cacheKey() {
+            return Arrays.asList(purpose, propertyType, city, area, availabilityStatus, search, page, size);
+        }
+
+        private static String lower(String value) {
+            return value == null ? null : value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.buildex.service;
+
+/**
+ * Where /api/properties/search is answered, from app.search.mode. Spring Boot binds the property
+ * ignoring case, so "postgres" and "Postgres" both select {@link #POSTGRES}.
+ */
+public enum SearchMode {
+    CATALOG,  // In-memory catalog snapshot (default)
+    POSTGRES  // Full-text + pg_trgm over the columns and indexes SearchSchema creates
+}
@@ -0,0 +1,185 @@
+package com.buildex.service.catalog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable inverted index for BM25 relevance ranking over title, city, area, amenities and
+ * description (see {@link CatalogEntry} for the field weights).
+ *
+ * Each term maps to the sorted ids of the properties containing it, with the term's weighted
+ * frequency in each. Like {@link TrigramIndex}, a change only rebuilds the postings of the terms
+ * the property gained, lost or changed; all others are shared with the previous index.
+ */
+final class Bm25Index {
+
+    // Standard BM25 parameters: term-frequency saturation and length normalization
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+
+    static final Bm25Index EMPTY = new Bm25Index(new HashMap<>(), 0, 0);
+
+    private final Map<String, Postings> postings;
+    private final int documentCount;
+    private final long totalLength;
+
+    private Bm25Index(Map<String, Postings> postings, int documentCount, long totalLength) {
+        this.postings = postings;
+        this.documentCount = documentCount;
+        this.totalLength = totalLength;
+    }
+
+    static Bm25Index build(CatalogEntry[] entries) {
+        Map<String, PostingsBuffer> buffers = new HashMap<>();
+        long totalLength = 0;
+        for (CatalogEntry entry : entries) {
+            String[] terms = entry.getTerms();
+            int[] frequencies = entry.getTermFrequencies();
+            for (int i = 0; i < terms.length; i++) {
+                buffers.computeIfAbsent(terms[i], t -> new PostingsBuffer()).add(entry.getId(), frequencies[i]);
+            }
+            totalLength += entry.getDocumentLength();
+        }
+        Map<String, Postings> postings = new HashMap<>(buffers.size() * 2);
+        buffers.forEach((term, buffer) -> postings.put(term, buffer.toPostings()));
+        return new Bm25Index(postings, entries.length, totalLength);
+    }
+
+    /**
+     * Returns a copy reflecting one property changing from {@code previous} to {@code next}
+     * (either may be null for insert / delete).
+     */
+    Bm25Index with(CatalogEntry previous, CatalogEntry next) {
+        Map<String, Integer> before = frequencies(previous);
+        Map<String, Integer> after = frequencies(next);
+        if (before.equals(after) && (previous == null) == (next == null)) {
+            return this;
+        }
+        long id = next != null ? next.getId() : previous.getId();
+        Map<String, Postings> copy = new HashMap<>(postings);
+        before.forEach((term, frequency) -> {
+            if (!after.containsKey(term)) {
+                Postings list = copy.get(term).without(id);
+                if (list == null) {
+                    copy.remove(term);
+                } else {
+                    copy.put(term, list);
+                }
+            }
+        });
+        after.forEach((term, frequency) -> {
+            if (!frequency.equals(before.get(term))) {
+                Postings list = copy.get(term);
+                copy.put(term, list == null ? new Postings(new long[] {id}, new int[] {frequency}) : list.with(id, frequency));
+            }
+        });
+        int documents = documentCount + (next != null ? 1 : 0) - (previous != null ? 1 : 0);
+        long length = totalLength + (next != null ? next.getDocumentLength() : 0)
+                - (previous != null ? previous.getDocumentLength() : 0);
+        return new Bm25Index(copy, documents, length);
+    }
+
+    Postings postings(String term) {
+        return postings.get(term);
+    }
+
+    // Inverse document frequency, never negative
+    double idf(Postings list) {
+        double df = list.ids.length;
+        return Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+    }
+
+    double averageLength() {
+        return documentCount == 0 ? 1 : Math.max(1, (double) totalLength / documentCount);
+    }
+
+    private static Map<String, Integer> frequencies(CatalogEntry entry) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        if (entry != null) {
+            String[] terms = entry.getTerms();
+            int[] counts = entry.getTermFrequencies();
+            for (int i = 0; i < terms.length; i++) {
+                frequencies.put(terms[i], counts[i]);
+            }
+        }
+        return frequencies;
+    }
+
+    static final class Postings {
+        final long[] ids; // sorted
+        final int[] frequencies;
+
+        Postings(long[] ids, int[] frequencies) {
+            this.ids = ids;
+            this.frequencies = frequencies;
+        }
+
+        Postings with(long id, int frequency) {
+            int at = Arrays.binarySearch(ids, id);
+            if (at >= 0) {
+                int[] counts = frequencies.clone();
+                counts[at] = frequency;
+                return new Postings(ids, counts);
+            }
+            int insert = -at - 1;
+            long[] nextIds = new long[ids.length + 1];
+            int[] nextCounts = new int[ids.length + 1];
+            System.arraycopy(ids, 0, nextIds, 0, insert);
+            System.arraycopy(frequencies, 0, nextCounts, 0, insert);
+            nextIds[insert] = id;
+            nextCounts[insert] = frequency;
+            System.arraycopy(ids, insert, nextIds, insert + 1, ids.length - insert);
+            System.arraycopy(frequencies, insert, nextCounts, insert + 1, ids.length - insert);
+            return new Postings(nextIds, nextCounts);
+        }
+
+        // Null when the id was the only one
+        Postings without(long id) {
+            int at = Arrays.binarySearch(ids, id);
+            if (at < 0) {
+                return this;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            long[] nextIds = new long[ids.length - 1];
+            int[] nextCounts = new int[ids.length - 1];
+            System.arraycopy(ids, 0, nextIds, 0, at);
+            System.arraycopy(frequencies, 0, nextCounts, 0, at);
+            System.arraycopy(ids, at + 1, nextIds, at, ids.length - at - 1);
+            System.arraycopy(frequencies, at + 1, nextCounts, at, ids.length - at - 1);
+            return new Postings(nextIds, nextCounts);
+        }
+    }
+
+    private static final class PostingsBuffer {
+        private final IdBuffer ids = new IdBuffer();
+        private int[] frequencies = new int[4];
+
+        void add(long id, int frequency) {
+            if (ids.count == frequencies.length) {
+                frequencies = Arrays.copyOf(frequencies, frequencies.length * 2);
+            }
+            frequencies[ids.count] = frequency;
+            ids.add(id);
+        }
+
+        Postings toPostings() {
+            int n = ids.count;
+            long[] sortedIds = Arrays.copyOf(ids.ids, n);
+            int[] counts = Arrays.copyOf(frequencies, n);
+            // Entries arrive newest-first, not by id: sort ids with their frequencies
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> Long.compare(sortedIds[a], sortedIds[b]));
+            long[] outIds = new long[n];
+            int[] outCounts = new int[n];
+            for (int i = 0; i < n; i++) {
+                outIds[i] = sortedIds[order[i]];
+                outCounts[i] = counts[order[i]];
+            }
+            return new Postings(outIds, outCounts);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.buildex.service.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the newest-first catalog order: the (createdAt, id) of the last row a client saw.
+ * Clients only ever see the encoded form and hand it back unchanged.
+ */
+public final class CatalogCursor {
+
+    private final long createdAt;
+    private final long id;
+
+    private CatalogCursor(long createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    static CatalogCursor of(CatalogEntry entry) {
+        return new CatalogCursor(entry.getCreatedAt(), entry.getId());
+    }
+
+    public static CatalogCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int sep = raw.indexOf(':');
+            return new CatalogCursor(Long.parseLong(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Negative if this position comes before the entry in newest-first order
+    int compareTo(CatalogEntry entry) {
+        if (createdAt != entry.getCreatedAt()) {
+            return createdAt > entry.getCreatedAt() ? -1 : 1;
+        }
+        return Long.compare(entry.getId(), id);
+    }
+}
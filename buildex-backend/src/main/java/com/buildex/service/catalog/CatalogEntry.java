@@ -0,0 +1,136 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.PropertySummaryDTO;
+import com.buildex.entity.Property;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One verified property as held by the in-memory catalog.
+ * The summary is what the listing endpoints return; the remaining fields are
+ * only needed for filtering, ordering and relevance ranking and are never sent to clients.
+ */
+public final class CatalogEntry {
+
+    private final PropertySummaryDTO summary;
+    private final long createdAt; // epoch millis, used for newest-first ordering
+    private final String builderCompanyName;
+    private final String builderFullName;
+
+    private final List<String> amenities;
+
+    // Relevance terms with their field-weighted frequencies, and the weighted document length
+    private final String[] terms;
+    private final int[] termFrequencies;
+    private final int documentLength;
+
+    public CatalogEntry(PropertySummaryDTO summary, long createdAt, String builderCompanyName,
+            String builderFullName) {
+        this(summary, createdAt, builderCompanyName, builderFullName, null, null);
+    }
+
+    public CatalogEntry(PropertySummaryDTO summary, long createdAt, String builderCompanyName,
+            String builderFullName, String description, Collection<String> amenities) {
+        this.summary = summary;
+        this.createdAt = createdAt;
+        this.builderCompanyName = builderCompanyName;
+        this.builderFullName = builderFullName;
+        this.amenities = amenities == null ? List.of() : amenities.stream().filter(java.util.Objects::nonNull).toList();
+
+        // A title word counts as much as three description words, a location or amenity word as two
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, summary.getTitle(), 3)
+                + addTerms(frequencies, summary.getCity(), 2)
+                + addTerms(frequencies, summary.getArea(), 2)
+                + addTerms(frequencies, description, 1);
+        if (amenities != null) {
+            for (String amenity : amenities) {
+                length += addTerms(frequencies, amenity, 2);
+            }
+        }
+        this.terms = new String[frequencies.size()];
+        this.termFrequencies = new int[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+            terms[i] = term.getKey();
+            termFrequencies[i] = term.getValue();
+            i++;
+        }
+        this.documentLength = length;
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        int length = 0;
+        for (String term : TextAnalyzer.terms(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+            length += weight;
+        }
+        return length;
+    }
+
+    public long getId() {
+        return summary.getId();
+    }
+
+    public PropertySummaryDTO getSummary() {
+        return summary;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getBuilderCompanyName() {
+        return builderCompanyName;
+    }
+
+    public String getBuilderFullName() {
+        return builderFullName;
+    }
+
+    public List<String> getAmenities() {
+        return amenities;
+    }
+
+    String[] getTerms() {
+        return terms;
+    }
+
+    int[] getTermFrequencies() {
+        return termFrequencies;
+    }
+
+    int getDocumentLength() {
+        return documentLength;
+    }
+
+    /**
+     * Row-at-a-time version of {@link CatalogSnapshot#search}'s filter, for checking a single property
+     * against a set of search parameters.
+     */
+    public boolean matches(Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            String city,
+            String area,
+            Property.AvailabilityStatus availabilityStatus,
+            String search) {
+        if (purpose != null && purpose != summary.getPurpose()) return false;
+        if (propertyType != null && propertyType != summary.getType()) return false;
+        if (availabilityStatus != null && availabilityStatus != summary.getAvailability()) return false;
+        if (city != null && !contains(summary.getCity(), city)) return false;
+        if (area != null && !contains(summary.getArea(), area)) return false;
+        if (search == null) return true;
+        return contains(summary.getTitle(), search)
+                || contains(builderCompanyName, search)
+                || contains(builderFullName, search)
+                || contains(summary.getCity(), search)
+                || contains(summary.getArea(), search);
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && CatalogSnapshot.lower(value).contains(CatalogSnapshot.lower(needle));
+    }
+}
@@ -0,0 +1,27 @@
+package com.buildex.service.catalog;
+
+/**
+ * Notified by {@link PropertyCatalog} after a committed write has been applied to the snapshot.
+ * Called on the writing thread while the catalog write lock is held, so changes arrive in order;
+ * implementations must be quick and must not call back into the catalog's write methods.
+ */
+public interface CatalogListener {
+
+    /**
+     * One property changed. {@code previous}/{@code current} are its entries before and after,
+     * null when it was / is not in the catalog (unverified or deleted).
+     */
+    void onEntryChanged(CatalogSnapshot before, CatalogSnapshot after, CatalogEntry previous, CatalogEntry current);
+
+    /**
+     * The snapshot was (re)built from the database.
+     */
+    default void onCatalogLoaded(CatalogSnapshot snapshot) {
+    }
+
+    /**
+     * A property changed while no snapshot was loaded, so what changed is unknown.
+     */
+    default void onUntrackedChange(long propertyId) {
+    }
+}
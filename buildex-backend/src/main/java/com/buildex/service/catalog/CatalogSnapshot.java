@@ -0,0 +1,1032 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.CursorPageDTO;
+import com.buildex.dto.PropertyFacetsDTO;
+import com.buildex.dto.PropertySummaryDTO;
+import com.buildex.entity.Property;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, read-optimized view of all verified properties.
+ *
+ * Rows are kept newest-first (createdAt desc, id desc) so a page is just a
+ * slice of the matching rows. Filter columns are stored as parallel arrays and
+ * the enum filters as one bitset per constant; free-text search is narrowed
+ * through a {@link TrigramIndex} before any string is compared; location queries
+ * through a {@link GeoGrid}; relevance ranking uses a {@link Bm25Index}. A snapshot is never modified after construction;
+ * writers build a new one and swap it in.
+ */
+public final class CatalogSnapshot {
+
+    static final Comparator<CatalogEntry> NEWEST_FIRST = Comparator
+            .comparingLong(CatalogEntry::getCreatedAt).reversed()
+            .thenComparing(Comparator.comparingLong(CatalogEntry::getId).reversed());
+
+    private static final Sort SORT = Sort.by("createdAt").descending();
+
+    // Mean earth radius, for great-circle distances
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final long version;
+    private final CatalogEntry[] entries;
+    private final Map<Long, Integer> rowById;
+
+    // Columnar filter data, indexed by row
+    private final String[] city;
+    private final String[] area;
+    private final String[] title;
+    private final String[] builderCompanyName;
+    private final String[] builderFullName;
+    private final double[] latitude; // NaN when the property has no coordinates
+    private final double[] longitude;
+
+    // Distinct city / area values, shared with later snapshots until a new value appears
+    private final ValueDictionary cityValues;
+    private final ValueDictionary areaValues;
+
+    // Numeric columns [column][row] (NaN when missing) and each column's non-missing rows ordered
+    // by value then row - for range filters and value sorts. A full load sorts them; a single-row
+    // change patches the previous snapshot's arrays instead
+    private final double[][] numeric;
+    private final int[][] sortedRows;
+
+    // Rows per filter value: enums by ordinal, city / area by dictionary code. Carried over from the
+    // previous snapshot with the rows renumbered; bitmaps are never modified once published
+    private final BitSet[] purposeRows;
+    private final BitSet[] typeRows;
+    private final BitSet[] availabilityRows;
+    private final BitSet[] cityRows;
+    private final BitSet[] areaRows;
+
+    private final TrigramIndex trigrams;
+    private final GeoGrid geo;
+    private final Bm25Index bm25;
+
+    // previous is null for a full build; otherwise this snapshot is previous with the row removedRow
+    // (previous's numbering) and/or insertedRow (this snapshot's numbering) taken out / put in, -1 if none
+    private CatalogSnapshot(CatalogEntry[] sortedEntries, TrigramIndex trigrams, GeoGrid geo, Bm25Index bm25,
+            long version, CatalogSnapshot previous, int removedRow, int insertedRow) {
+        int n = sortedEntries.length;
+        this.version = version;
+        this.entries = sortedEntries;
+        this.trigrams = trigrams;
+        this.geo = geo;
+        this.bm25 = bm25;
+        this.rowById = new HashMap<>(Math.max(16, n * 2));
+        this.city = new String[n];
+        this.area = new String[n];
+        this.title = new String[n];
+        this.builderCompanyName = new String[n];
+        this.builderFullName = new String[n];
+        this.latitude = new double[n];
+        this.longitude = new double[n];
+        this.numeric = new double[NumericColumn.values().length][n];
+
+        for (int row = 0; row < n; row++) {
+            CatalogEntry entry = sortedEntries[row];
+            PropertySummaryDTO summary = entry.getSummary();
+            rowById.put(entry.getId(), row);
+            city[row] = lower(summary.getCity());
+            area[row] = lower(summary.getArea());
+            title[row] = lower(summary.getTitle());
+            builderCompanyName[row] = lower(entry.getBuilderCompanyName());
+            builderFullName[row] = lower(entry.getBuilderFullName());
+            latitude[row] = summary.getLatitude() != null ? summary.getLatitude() : Double.NaN;
+            longitude[row] = summary.getLongitude() != null ? summary.getLongitude() : Double.NaN;
+            for (NumericColumn column : NumericColumn.values()) {
+                numeric[column.ordinal()][row] = column.valueOf(summary);
+            }
+        }
+
+        if (previous == null) {
+            this.cityValues = new ValueDictionary();
+            this.areaValues = new ValueDictionary();
+            this.purposeRows = newBitSets(Property.Purpose.values().length, n);
+            this.typeRows = newBitSets(Property.PropertyType.values().length, n);
+            this.availabilityRows = newBitSets(Property.AvailabilityStatus.values().length, n);
+            List<BitSet> cities = new ArrayList<>();
+            List<BitSet> areas = new ArrayList<>();
+            for (int row = 0; row < n; row++) {
+                PropertySummaryDTO summary = sortedEntries[row].getSummary();
+                if (summary.getPurpose() != null) purposeRows[summary.getPurpose().ordinal()].set(row);
+                if (summary.getType() != null) typeRows[summary.getType().ordinal()].set(row);
+                if (summary.getAvailability() != null) availabilityRows[summary.getAvailability().ordinal()].set(row);
+                setRow(cities, cityValues.add(summary.getCity()), row);
+                setRow(areas, areaValues.add(summary.getArea()), row);
+            }
+            this.cityRows = cities.toArray(new BitSet[0]);
+            this.areaRows = areas.toArray(new BitSet[0]);
+        } else {
+            PropertySummaryDTO inserted = insertedRow >= 0 ? sortedEntries[insertedRow].getSummary() : null;
+            this.cityValues = inserted == null ? previous.cityValues : previous.cityValues.with(inserted.getCity());
+            this.areaValues = inserted == null ? previous.areaValues : previous.areaValues.with(inserted.getArea());
+            this.purposeRows = carryRows(previous.purposeRows, previous.purposeRows.length, removedRow, insertedRow,
+                    inserted != null && inserted.getPurpose() != null ? inserted.getPurpose().ordinal() : -1);
+            this.typeRows = carryRows(previous.typeRows, previous.typeRows.length, removedRow, insertedRow,
+                    inserted != null && inserted.getType() != null ? inserted.getType().ordinal() : -1);
+            this.availabilityRows = carryRows(previous.availabilityRows, previous.availabilityRows.length, removedRow,
+                    insertedRow, inserted != null && inserted.getAvailability() != null
+                            ? inserted.getAvailability().ordinal()
+                            : -1);
+            this.cityRows = carryRows(previous.cityRows, cityValues.size(), removedRow, insertedRow,
+                    inserted != null ? cityValues.code(inserted.getCity()) : -1);
+            this.areaRows = carryRows(previous.areaRows, areaValues.size(), removedRow, insertedRow,
+                    inserted != null ? areaValues.code(inserted.getArea()) : -1);
+        }
+
+        this.sortedRows = new int[NumericColumn.values().length][];
+        for (NumericColumn column : NumericColumn.values()) {
+            int c = column.ordinal();
+            sortedRows[c] = previous == null
+                    ? sortRows(numeric[c])
+                    : patchSortedRows(previous.sortedRows[c], previous.numeric[c], removedRow, numeric[c], insertedRow);
+        }
+    }
+
+    public static CatalogSnapshot of(Collection<CatalogEntry> entries, long version) {
+        CatalogEntry[] sorted = entries.toArray(new CatalogEntry[0]);
+        Arrays.sort(sorted, NEWEST_FIRST);
+        return new CatalogSnapshot(sorted, TrigramIndex.build(sorted), GeoGrid.build(sorted), Bm25Index.build(sorted),
+                version, null, -1, -1);
+    }
+
+    /**
+     * Returns a copy with the given entry inserted, or replacing the row with the same id.
+     */
+    public CatalogSnapshot withEntry(CatalogEntry entry) {
+        CatalogEntry previous = get(entry.getId());
+        int removed = previous == null ? -1 : rowById.get(entry.getId());
+        CatalogEntry[] rest = previous == null ? entries : removeRow(removed);
+        int insert = Arrays.binarySearch(rest, entry, NEWEST_FIRST);
+        insert = insert < 0 ? -insert - 1 : insert;
+        CatalogEntry[] next = new CatalogEntry[rest.length + 1];
+        System.arraycopy(rest, 0, next, 0, insert);
+        next[insert] = entry;
+        System.arraycopy(rest, insert, next, insert + 1, rest.length - insert);
+        return new CatalogSnapshot(next, trigrams.with(previous, entry), geo.with(previous, entry),
+                bm25.with(previous, entry), version + 1, this, removed, insert);
+    }
+
+    /**
+     * Returns a copy without the given property, or this snapshot if it is not present.
+     */
+    public CatalogSnapshot without(long id) {
+        Integer row = rowById.get(id);
+        if (row == null) {
+            return this;
+        }
+        return new CatalogSnapshot(removeRow(row), trigrams.with(entries[row], null), geo.with(entries[row], null),
+                bm25.with(entries[row], null), version + 1, this, row, -1);
+    }
+
+    private CatalogEntry[] removeRow(int row) {
+        CatalogEntry[] next = new CatalogEntry[entries.length - 1];
+        System.arraycopy(entries, 0, next, 0, row);
+        System.arraycopy(entries, row + 1, next, row, entries.length - row - 1);
+        return next;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    // Position in newest-first order, or -1 if the property is not in this snapshot
+    public int rowOf(long id) {
+        Integer row = rowById.get(id);
+        return row == null ? -1 : row;
+    }
+
+    public CatalogEntry get(long id) {
+        Integer row = rowById.get(id);
+        return row == null ? null : entries[row];
+    }
+
+    // All entries, newest first (read-only view)
+    public List<CatalogEntry> entries() {
+        return java.util.Collections.unmodifiableList(Arrays.asList(entries));
+    }
+
+    public Page<PropertySummaryDTO> page(int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size, SORT);
+        int from = (int) Math.min(pageable.getOffset(), entries.length);
+        int to = (int) Math.min((long) from + size, entries.length);
+        List<PropertySummaryDTO> content = new ArrayList<>(to - from);
+        for (int row = from; row < to; row++) {
+            content.add(entries[row].getSummary());
+        }
+        return new PageImpl<>(content, pageable, entries.length);
+    }
+
+    /**
+     * Same semantics as {@code PropertyRepository.findByFiltersPaginated}: enum filters are exact,
+     * text filters are case-insensitive substring matches and null means "any".
+     */
+    public Page<PropertySummaryDTO> search(Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            String cityFilter,
+            String areaFilter,
+            Property.AvailabilityStatus availabilityStatus,
+            String search,
+            int page, int size) {
+        return search(purpose, propertyType, cityFilter, areaFilter, availabilityStatus, search,
+                RangeFilter.NONE, CatalogSort.NEWEST, page, size);
+    }
+
+    /**
+     * {@link #search} with numeric range filters and a choice of order. Ranges are answered from
+     * each column's sorted row index by binary search; value orders walk that same index.
+     * With {@link CatalogSort#RELEVANCE} the search text is a keyword query instead of a substring
+     * filter: listings containing any of its terms are ranked by BM25 score.
+     */
+    public Page<PropertySummaryDTO> search(Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            String cityFilter,
+            String areaFilter,
+            Property.AvailabilityStatus availabilityStatus,
+            String search,
+            RangeFilter ranges,
+            CatalogSort sort,
+            int page, int size) {
+        List<String> keywords = sort == CatalogSort.RELEVANCE ? TextAnalyzer.terms(search) : List.of();
+        if (sort == CatalogSort.RELEVANCE && keywords.isEmpty()) {
+            sort = CatalogSort.NEWEST; // Nothing to rank by
+        }
+        RowFilter filter = new RowFilter(purpose, propertyType, cityFilter, areaFilter, availabilityStatus,
+                sort == CatalogSort.RELEVANCE ? null : search);
+        for (NumericColumn column : NumericColumn.values()) {
+            if (ranges.isBounded(column)) {
+                filter.candidates.and(rowsInRange(column, ranges.min(column), ranges.max(column)));
+            }
+        }
+        if (sort == CatalogSort.RELEVANCE) {
+            return searchByRelevance(filter, keywords, page, size);
+        }
+        if (sort.column == null) {
+            PageRequest pageable = PageRequest.of(page, size, SORT);
+            long from = pageable.getOffset();
+            long to = from + size;
+            int total = 0;
+            List<PropertySummaryDTO> content = new ArrayList<>(
+                    (int) Math.max(0, Math.min(size, entries.length - from))); // Matches are not counted yet
+            for (int row = filter.next(0); row >= 0; row = filter.next(row + 1)) {
+                if (total >= from && total < to) {
+                    content.add(entries[row].getSummary());
+                }
+                total++;
+            }
+            return new PageImpl<>(content, pageable, total);
+        }
+
+        BitSet matched = new BitSet(entries.length);
+        for (int row = filter.next(0); row >= 0; row = filter.next(row + 1)) {
+            matched.set(row);
+        }
+        int total = matched.cardinality();
+        PageRequest pageable = PageRequest.of(page, size, sort.ascending
+                ? Sort.by(sort.column.property()).ascending()
+                : Sort.by(sort.column.property()).descending());
+        long from = pageable.getOffset();
+        List<PropertySummaryDTO> content = new ArrayList<>((int) Math.max(0, Math.min(size, total - from)));
+        if (from < total) {
+            int[] ordered = (long) total * 16 < entries.length
+                    ? sortMatched(matched, total, sort) // Few matches: cheaper to sort them than to walk the index
+                    : orderedByIndex(matched, sort, (int) Math.min((long) total, from + size));
+            for (long i = from; i < Math.min((long) ordered.length, from + size); i++) {
+                content.add(entries[ordered[(int) i]].getSummary());
+            }
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // Scores only the filtered listings that contain a keyword and keeps the best (page + 1) * size
+    // in a bounded min-heap, so only the requested page is ever sorted and materialized
+    private Page<PropertySummaryDTO> searchByRelevance(RowFilter filter, List<String> keywords, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        double averageLength = bm25.averageLength();
+        Map<Integer, Double> scores = new HashMap<>();
+        BitSet rejected = new BitSet(entries.length);
+        for (String term : new java.util.LinkedHashSet<>(keywords)) {
+            Bm25Index.Postings list = bm25.postings(term);
+            if (list == null) {
+                continue;
+            }
+            double idf = bm25.idf(list);
+            for (int i = 0; i < list.ids.length; i++) {
+                Integer row = rowById.get(list.ids[i]);
+                if (row == null || rejected.get(row)) {
+                    continue;
+                }
+                if (!scores.containsKey(row) && !filter.accepts(row)) {
+                    rejected.set(row);
+                    continue;
+                }
+                double tf = list.frequencies[i];
+                double norm = 1 - Bm25Index.B + Bm25Index.B * entries[row].getDocumentLength() / averageLength;
+                scores.merge(row, idf * tf * (Bm25Index.K1 + 1) / (tf + Bm25Index.K1 * norm), Double::sum);
+            }
+        }
+
+        long wanted = pageable.getOffset() + size;
+        int keep = (int) Math.min(wanted, scores.size());
+        // Worst on top: lowest score, then oldest (highest row)
+        java.util.PriorityQueue<Map.Entry<Integer, Double>> heap = new java.util.PriorityQueue<>(Math.max(1, keep),
+                Map.Entry.<Integer, Double>comparingByValue()
+                        .thenComparing(Map.Entry.<Integer, Double>comparingByKey().reversed()));
+        for (Map.Entry<Integer, Double> scored : scores.entrySet()) {
+            if (heap.size() < keep) {
+                heap.add(scored);
+            } else if (keep > 0 && heap.comparator().compare(scored, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+        int[] best = new int[heap.size()];
+        for (int i = best.length - 1; i >= 0; i--) {
+            best[i] = heap.poll().getKey();
+        }
+        List<PropertySummaryDTO> content = new ArrayList<>((int) Math.max(0, best.length - pageable.getOffset()));
+        for (long i = pageable.getOffset(); i < best.length; i++) {
+            content.add(entries[best[(int) i]].getSummary());
+        }
+        return new PageImpl<>(content, pageable, scores.size());
+    }
+
+    // Matched rows in sort order, from the column's index, stopping once `limit` rows are found
+    private int[] orderedByIndex(BitSet matched, CatalogSort sort, int limit) {
+        double[] values = numeric[sort.column.ordinal()];
+        int[] index = sortedRows[sort.column.ordinal()];
+        int[] ordered = new int[limit];
+        int count = 0;
+        if (sort.ascending) {
+            for (int i = 0; i < index.length && count < limit; i++) {
+                if (matched.get(index[i])) ordered[count++] = index[i];
+            }
+        } else {
+            // Walk runs of equal values backwards, each run forwards, so ties stay newest first
+            for (int end = index.length - 1; end >= 0 && count < limit; ) {
+                int start = end;
+                while (start > 0 && values[index[start - 1]] == values[index[end]]) start--;
+                for (int i = start; i <= end && count < limit; i++) {
+                    if (matched.get(index[i])) ordered[count++] = index[i];
+                }
+                end = start - 1;
+            }
+        }
+        // Rows without a value come last
+        for (int row = matched.nextSetBit(0); row >= 0 && count < limit; row = matched.nextSetBit(row + 1)) {
+            if (Double.isNaN(values[row])) ordered[count++] = row;
+        }
+        return ordered;
+    }
+
+    private int[] sortMatched(BitSet matched, int total, CatalogSort sort) {
+        double[] values = numeric[sort.column.ordinal()];
+        int[] rows = new int[total];
+        double[] matchedValues = new double[total];
+        int count = 0;
+        for (int row = matched.nextSetBit(0); row >= 0; row = matched.nextSetBit(row + 1)) {
+            if (!Double.isNaN(values[row])) {
+                rows[count] = row;
+                matchedValues[count++] = values[row];
+            }
+        }
+        int[] order = orderByValue(matchedValues, count, !sort.ascending);
+        int[] ordered = new int[total];
+        for (int i = 0; i < count; i++) {
+            ordered[i] = rows[order[i]];
+        }
+        // Rows without a value come last
+        for (int row = matched.nextSetBit(0); row >= 0; row = matched.nextSetBit(row + 1)) {
+            if (Double.isNaN(values[row])) ordered[count++] = row;
+        }
+        return ordered;
+    }
+
+    private BitSet rowsInRange(NumericColumn column, double min, double max) {
+        double[] values = numeric[column.ordinal()];
+        int[] index = sortedRows[column.ordinal()];
+        int from = firstIndexAtLeast(index, values, min, false);
+        int to = firstIndexAtLeast(index, values, max, true);
+        BitSet rows = new BitSet(entries.length);
+        for (int i = from; i < to; i++) {
+            rows.set(index[i]);
+        }
+        return rows;
+    }
+
+    // First position whose value is >= bound (or > bound when strict)
+    private static int firstIndexAtLeast(int[] index, double[] values, double bound, boolean strict) {
+        int low = 0;
+        int high = index.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            double value = values[index[mid]];
+            if (strict ? value <= bound : value < bound) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // A column's non-missing rows ordered by value, then row
+    private static int[] sortRows(double[] values) {
+        int[] rows = new int[values.length];
+        double[] present = new double[values.length];
+        int count = 0;
+        for (int row = 0; row < values.length; row++) {
+            if (!Double.isNaN(values[row])) {
+                rows[count] = row;
+                present[count++] = values[row];
+            }
+        }
+        int[] order = orderByValue(present, count, false);
+        int[] index = new int[count];
+        for (int i = 0; i < count; i++) {
+            index[i] = rows[order[i]];
+        }
+        return index;
+    }
+
+    // The previous snapshot's index for a column, renumbered for one removed and/or inserted row:
+    // a linear copy and a binary search instead of a sort
+    private static int[] patchSortedRows(int[] previous, double[] previousValues, int removedRow,
+            double[] values, int insertedRow) {
+        boolean remove = removedRow >= 0 && !Double.isNaN(previousValues[removedRow]);
+        boolean insert = insertedRow >= 0 && !Double.isNaN(values[insertedRow]);
+        int[] index = new int[previous.length - (remove ? 1 : 0) + (insert ? 1 : 0)];
+        int count = 0;
+        for (int row : previous) {
+            if (row == removedRow) {
+                continue;
+            }
+            if (removedRow >= 0 && row > removedRow) row--;
+            if (insertedRow >= 0 && row >= insertedRow) row++;
+            index[count++] = row;
+        }
+        if (insert) {
+            double value = values[insertedRow];
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int cmp = Double.compare(values[index[mid]], value);
+                if (cmp < 0 || cmp == 0 && index[mid] < insertedRow) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            System.arraycopy(index, low, index, low + 1, count - low);
+            index[low] = insertedRow;
+        }
+        return index;
+    }
+
+    /**
+     * Positions 0..count-1 of {@code values} (none NaN) ordered by value, ties in position order.
+     * Sorts primitives only: each position becomes the long (rank of its value << 32 | position).
+     */
+    static int[] orderByValue(double[] values, int count, boolean descending) {
+        double[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            long rank = descending
+                    ? count - firstAbove(sorted, values[i]) // Equal values share a rank either way
+                    : firstAtLeast(sorted, values[i]);
+            keys[i] = rank << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    private static int firstAtLeast(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(sorted[mid], value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int firstAbove(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (Double.compare(sorted[mid], value) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Keyset variant of {@link #search}: returns up to {@code size} matches that come after the
+     * cursor in newest-first order. The cost depends on the page size, not on how deep the cursor is;
+     * the total is only counted when asked for.
+     */
+    public CursorPageDTO<PropertySummaryDTO> searchAfter(Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            String cityFilter,
+            String areaFilter,
+            Property.AvailabilityStatus availabilityStatus,
+            String search,
+            CatalogCursor after, int size, boolean withTotal) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must not be less than one");
+        }
+        RowFilter filter = new RowFilter(purpose, propertyType, cityFilter, areaFilter, availabilityStatus, search);
+
+        List<PropertySummaryDTO> content = new ArrayList<>(Math.min(size, entries.length));
+        int lastRow = -1;
+        int row = filter.next(after == null ? 0 : firstRowAfter(after));
+        while (row >= 0 && content.size() < size) {
+            content.add(entries[row].getSummary());
+            lastRow = row;
+            row = filter.next(row + 1);
+        }
+        boolean hasNext = row >= 0;
+
+        Long total = null;
+        if (withTotal) {
+            long count = 0;
+            for (int r = filter.next(0); r >= 0; r = filter.next(r + 1)) {
+                count++;
+            }
+            total = count;
+        }
+        return CursorPageDTO.<PropertySummaryDTO>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? CatalogCursor.of(entries[lastRow]).encode() : null)
+                .totalElements(total)
+                .build();
+    }
+
+    /**
+     * Properties within {@code radiusKm} (great-circle distance) of a point, nearest first unless
+     * {@code byDistance} is false, in which case they are newest first.
+     */
+    public Page<PropertySummaryDTO> nearby(Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            Property.AvailabilityStatus availabilityStatus,
+            double lat, double lon, double radiusKm,
+            boolean byDistance, int page, int size) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        double dLon = cosLat < 1e-6 ? 180 : Math.min(180, dLat / cosLat);
+        return geoSearch(purpose, propertyType, availabilityStatus,
+                Math.max(-90, lat - dLat), Math.max(-180, lon - dLon),
+                Math.min(90, lat + dLat), Math.min(180, lon + dLon),
+                lat, lon, radiusKm, byDistance, page, size);
+    }
+
+    /**
+     * Properties inside a bounding box, newest first, or nearest to the box centre when
+     * {@code byDistance} is set.
+     */
+    public Page<PropertySummaryDTO> within(Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            Property.AvailabilityStatus availabilityStatus,
+            double minLat, double minLon, double maxLat, double maxLon,
+            boolean byDistance, int page, int size) {
+        return geoSearch(purpose, propertyType, availabilityStatus, minLat, minLon, maxLat, maxLon,
+                (minLat + maxLat) / 2, (minLon + maxLon) / 2, Double.POSITIVE_INFINITY,
+                byDistance, page, size);
+    }
+
+    private Page<PropertySummaryDTO> geoSearch(Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            Property.AvailabilityStatus availabilityStatus,
+            double minLat, double minLon, double maxLat, double maxLon,
+            double originLat, double originLon, double radiusKm,
+            boolean byDistance, int page, int size) {
+        BitSet rows = candidates(purpose, propertyType, availabilityStatus);
+        rows.and(rowsOf(geo.candidates(minLat, minLon, maxLat, maxLon)));
+
+        // Exact check of the grid candidates; rows come out newest-first
+        int[] matched = new int[rows.cardinality()];
+        double[] distance = new double[matched.length];
+        int count = 0;
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            double lat = latitude[row];
+            double lon = longitude[row];
+            if (lat < minLat || lat > maxLat || lon < minLon || lon > maxLon) {
+                continue;
+            }
+            double km = distanceKm(originLat, originLon, lat, lon);
+            if (km <= radiusKm) {
+                matched[count] = row;
+                distance[count] = km;
+                count++;
+            }
+        }
+
+        int[] order;
+        if (byDistance) {
+            order = orderByValue(distance, count, false); // Equal distances stay newest first
+        } else {
+            order = new int[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+        }
+
+        PageRequest pageable = byDistance ? PageRequest.of(page, size) : PageRequest.of(page, size, SORT);
+        int from = (int) Math.min(pageable.getOffset(), count);
+        int to = (int) Math.min((long) from + size, count);
+        List<PropertySummaryDTO> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(entries[matched[order[i]]].getSummary());
+        }
+        return new PageImpl<>(content, pageable, count);
+    }
+
+    // Haversine great-circle distance
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Facet counts for a search selection, from the value bitmaps: each facet counts the rows
+     * matching every filter but its own, intersected with each of its values' rows. The city and
+     * area filters are the union of the rows of every dictionary value containing the needle. The
+     * free-text search is not a facet and always applies.
+     */
+    public PropertyFacetsDTO facets(Property.Purpose purpose,
+            Property.PropertyType propertyType,
+            String cityFilter,
+            String areaFilter,
+            Property.AvailabilityStatus availabilityStatus,
+            String search,
+            int limit) {
+        String searchNeedle = lower(search);
+        BitSet rows = new BitSet(entries.length);
+        rows.set(0, entries.length);
+        if (searchNeedle != null) {
+            if (searchNeedle.length() >= TrigramIndex.GRAM) {
+                rows.and(rowsOf(trigrams.candidates(searchNeedle)));
+            }
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (!matchesSearch(row, searchNeedle)) {
+                    rows.clear(row);
+                }
+            }
+        }
+
+        // Indexed like the facets: purpose, type, status, city, area; null when not filtered
+        BitSet[] filters = {
+                purpose != null ? purposeRows[purpose.ordinal()] : null,
+                propertyType != null ? typeRows[propertyType.ordinal()] : null,
+                availabilityStatus != null ? availabilityRows[availabilityStatus.ordinal()] : null,
+                cityFilter != null ? cityValues.rowsContaining(cityRows, lower(cityFilter)) : null,
+                areaFilter != null ? areaValues.rowsContaining(areaRows, lower(areaFilter)) : null };
+        return PropertyFacetsDTO.builder()
+                .total(allBut(rows, filters, -1).cardinality())
+                .purposes(enumCounts(Property.Purpose.values(), countEach(allBut(rows, filters, 0), purposeRows)))
+                .propertyTypes(enumCounts(Property.PropertyType.values(), countEach(allBut(rows, filters, 1), typeRows)))
+                .availabilityStatuses(enumCounts(Property.AvailabilityStatus.values(),
+                        countEach(allBut(rows, filters, 2), availabilityRows)))
+                .cities(topCounts(cityValues, countEach(allBut(rows, filters, 3), cityRows), limit))
+                .areas(topCounts(areaValues, countEach(allBut(rows, filters, 4), areaRows), limit))
+                .build();
+    }
+
+    // The rows passing every filter except the one at index skip
+    private static BitSet allBut(BitSet rows, BitSet[] filters, int skip) {
+        BitSet result = (BitSet) rows.clone();
+        for (int i = 0; i < filters.length; i++) {
+            if (i != skip && filters[i] != null) {
+                result.and(filters[i]);
+            }
+        }
+        return result;
+    }
+
+    // How many of the rows each value has
+    private static long[] countEach(BitSet rows, BitSet[] valueRows) {
+        long[] counts = new long[valueRows.length];
+        for (int value = 0; value < valueRows.length; value++) {
+            if (valueRows[value].intersects(rows)) {
+                BitSet both = (BitSet) valueRows[value].clone();
+                both.and(rows);
+                counts[value] = both.cardinality();
+            }
+        }
+        return counts;
+    }
+
+    private static Map<String, Long> enumCounts(Enum<?>[] values, long[] counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Enum<?> value : values) {
+            result.put(value.name(), counts[value.ordinal()]);
+        }
+        return result;
+    }
+
+    // Counts per dictionary code, summed per display value, most frequent first
+    private static Map<String, Long> topCounts(ValueDictionary dictionary, long[] codeCounts, int limit) {
+        long[] counts = new long[dictionary.names.size()];
+        for (int code = 0; code < codeCounts.length; code++) {
+            int name = dictionary.nameOf.get(code);
+            if (name >= 0) counts[name] += codeCounts[code];
+        }
+        List<String> values = dictionary.names;
+        Integer[] order = new Integer[counts.length];
+        int n = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) order[n++] = i;
+        }
+        Arrays.sort(order, 0, n, Comparator.<Integer>comparingLong(i -> -counts[i]).thenComparing(values::get));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(n, limit); i++) {
+            result.put(values.get(order[i]), counts[order[i]]);
+        }
+        return result;
+    }
+
+    private static void setRow(List<BitSet> valueRows, int code, int row) {
+        if (code < 0) {
+            return;
+        }
+        while (valueRows.size() <= code) {
+            valueRows.add(new BitSet());
+        }
+        valueRows.get(code).set(row);
+    }
+
+    // The previous snapshot's value bitmaps renumbered for one removed and/or inserted row, with the
+    // inserted row set in its value's bitmap. Bitmaps no renumbered row falls in are shared
+    private static BitSet[] carryRows(BitSet[] previous, int values, int removedRow, int insertedRow,
+            int insertedValue) {
+        int firstMoved = removedRow < 0 ? insertedRow : insertedRow < 0 ? removedRow : Math.min(removedRow, insertedRow);
+        BitSet[] rows = new BitSet[values];
+        for (int value = 0; value < values; value++) {
+            if (value >= previous.length) {
+                rows[value] = new BitSet();
+            } else if (previous[value].length() <= firstMoved) {
+                rows[value] = previous[value];
+            } else {
+                long[] words = previous[value].toLongArray();
+                if (removedRow >= 0) words = withoutBit(words, removedRow);
+                if (insertedRow >= 0) words = withClearBitAt(words, insertedRow);
+                rows[value] = BitSet.valueOf(words);
+            }
+        }
+        if (insertedValue >= 0) {
+            BitSet withRow = (BitSet) rows[insertedValue].clone();
+            withRow.set(insertedRow);
+            rows[insertedValue] = withRow;
+        }
+        return rows;
+    }
+
+    // Drops the given bit, moving every higher bit down by one
+    static long[] withoutBit(long[] words, int bit) {
+        int word = bit >>> 6;
+        if (word >= words.length) {
+            return words;
+        }
+        long below = (1L << bit) - 1; // Shift distances are taken mod 64
+        long[] result = words.clone();
+        for (int i = word; i < words.length; i++) {
+            long carry = i + 1 < words.length ? words[i + 1] << 63 : 0;
+            result[i] = i == word
+                    ? words[i] & below | (words[i] >>> 1) & ~below | carry
+                    : words[i] >>> 1 | carry;
+        }
+        return result;
+    }
+
+    // Inserts a clear bit at the given position, moving it and every higher bit up by one
+    static long[] withClearBitAt(long[] words, int bit) {
+        int word = bit >>> 6;
+        if (word >= words.length) {
+            return words;
+        }
+        long below = (1L << bit) - 1;
+        long[] result = Arrays.copyOf(words, words.length + 1);
+        result[word] = words[word] & below | (words[word] << 1) & (~below << 1);
+        for (int i = word + 1; i <= words.length; i++) {
+            result[i] = (i < words.length ? words[i] << 1 : 0) | words[i - 1] >>> 63;
+        }
+        return result;
+    }
+
+    // Index of the first row ordered strictly after the cursor position
+    private int firstRowAfter(CatalogCursor cursor) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cursor.compareTo(entries[mid]) < 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Distinct city or area values by lowercased spelling, each under a display value (the first
+     * spelling seen, trimmed) so values differing only in case or padding are counted together.
+     * Blank values have no display value. Codes are never reused, so a dictionary is only extended:
+     * in place while a full build fills it, otherwise by copying it when a new value appears.
+     */
+    private static final class ValueDictionary {
+        private final Map<String, Integer> codes;
+        private final List<String> keys; // Lowercased value per code
+        private final List<Integer> nameOf; // Display value per code, -1 when blank
+        private final Map<String, Integer> nameCodes;
+        private final List<String> names;
+
+        ValueDictionary() {
+            this.codes = new HashMap<>();
+            this.keys = new ArrayList<>();
+            this.nameOf = new ArrayList<>();
+            this.nameCodes = new HashMap<>();
+            this.names = new ArrayList<>();
+        }
+
+        private ValueDictionary(ValueDictionary other) {
+            this.codes = new HashMap<>(other.codes);
+            this.keys = new ArrayList<>(other.keys);
+            this.nameOf = new ArrayList<>(other.nameOf);
+            this.nameCodes = new HashMap<>(other.nameCodes);
+            this.names = new ArrayList<>(other.names);
+        }
+
+        int size() {
+            return keys.size();
+        }
+
+        int code(String value) {
+            return value == null ? -1 : codes.getOrDefault(lower(value), -1);
+        }
+
+        // Code of the value, adding it if new; only while the snapshot owning this dictionary is built
+        int add(String value) {
+            if (value == null) {
+                return -1;
+            }
+            String key = lower(value);
+            Integer code = codes.get(key);
+            if (code != null) {
+                return code;
+            }
+            String trimmed = key.trim();
+            nameOf.add(trimmed.isEmpty() ? -1 : nameCodes.computeIfAbsent(trimmed, k -> {
+                names.add(value.trim());
+                return names.size() - 1;
+            }));
+            keys.add(key);
+            codes.put(key, keys.size() - 1);
+            return keys.size() - 1;
+        }
+
+        ValueDictionary with(String value) {
+            if (value == null || codes.containsKey(lower(value))) {
+                return this;
+            }
+            ValueDictionary extended = new ValueDictionary(this);
+            extended.add(value);
+            return extended;
+        }
+
+        // Rows whose value contains the needle
+        BitSet rowsContaining(BitSet[] valueRows, String needle) {
+            BitSet rows = new BitSet();
+            for (int code = 0; code < keys.size(); code++) {
+                if (keys.get(code).contains(needle)) {
+                    rows.or(valueRows[code]);
+                }
+            }
+            return rows;
+        }
+    }
+
+    // Enum filters as a candidate bitset plus the per-row text checks
+    private final class RowFilter {
+        private final BitSet candidates;
+        private final String cityNeedle;
+        private final String areaNeedle;
+        private final String searchNeedle;
+
+        RowFilter(Property.Purpose purpose, Property.PropertyType propertyType, String cityFilter,
+                String areaFilter, Property.AvailabilityStatus availabilityStatus, String search) {
+            this.candidates = candidates(purpose, propertyType, availabilityStatus);
+            this.cityNeedle = lower(cityFilter);
+            this.areaNeedle = lower(areaFilter);
+            this.searchNeedle = lower(search);
+            if (searchNeedle != null && searchNeedle.length() >= TrigramIndex.GRAM) {
+                // Narrow to rows sharing every trigram of the needle; matches() still verifies them
+                candidates.and(rowsOf(trigrams.candidates(searchNeedle)));
+            }
+        }
+
+        boolean accepts(int row) {
+            return candidates.get(row) && matches(row);
+        }
+
+        // Next matching row at or after fromRow, or -1
+        int next(int fromRow) {
+            for (int row = candidates.nextSetBit(fromRow); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                if (matches(row)) {
+                    return row;
+                }
+            }
+            return -1;
+        }
+
+        private boolean matches(int row) {
+            if (cityNeedle != null && !contains(city[row], cityNeedle)) return false;
+            if (areaNeedle != null && !contains(area[row], areaNeedle)) return false;
+            return searchNeedle == null || matchesSearch(row, searchNeedle);
+        }
+    }
+
+    private BitSet candidates(Property.Purpose purpose, Property.PropertyType propertyType,
+            Property.AvailabilityStatus availabilityStatus) {
+        BitSet candidates = new BitSet(entries.length);
+        candidates.set(0, entries.length);
+        if (purpose != null) candidates.and(purposeRows[purpose.ordinal()]);
+        if (propertyType != null) candidates.and(typeRows[propertyType.ordinal()]);
+        if (availabilityStatus != null) candidates.and(availabilityRows[availabilityStatus.ordinal()]);
+        return candidates;
+    }
+
+    private BitSet rowsOf(long[] ids) {
+        BitSet rows = new BitSet(entries.length);
+        for (long id : ids) {
+            Integer row = rowById.get(id);
+            if (row != null) {
+                rows.set(row);
+            }
+        }
+        return rows;
+    }
+
+    private boolean matchesSearch(int row, String needle) {
+        return contains(title[row], needle)
+                || contains(builderCompanyName[row], needle)
+                || contains(builderFullName[row], needle)
+                || contains(city[row], needle)
+                || contains(area[row], needle);
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && value.contains(needle);
+    }
+
+    static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static BitSet[] newBitSets(int count, int rows) {
+        BitSet[] sets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            sets[i] = new BitSet(rows);
+        }
+        return sets;
+    }
+}
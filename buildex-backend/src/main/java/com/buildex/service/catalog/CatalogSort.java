@@ -0,0 +1,42 @@
+package com.buildex.service.catalog;
+
+import java.util.Locale;
+
+/**
+ * Result orders supported by the catalog search. Listings without a value for the sort attribute
+ * come last; ties keep newest-first order.
+ */
+public enum CatalogSort {
+    NEWEST(null, false),
+    PRICE_ASC(NumericColumn.PRICE, true),
+    PRICE_DESC(NumericColumn.PRICE, false),
+    RENT_ASC(NumericColumn.RENT, true),
+    RENT_DESC(NumericColumn.RENT, false),
+    PRICE_PER_SQFT_ASC(NumericColumn.PRICE_PER_SQFT, true),
+    PRICE_PER_SQFT_DESC(NumericColumn.PRICE_PER_SQFT, false),
+    SIZE_ASC(NumericColumn.AREA_SQFT, true),
+    SIZE_DESC(NumericColumn.AREA_SQFT, false),
+    RELEVANCE(null, false); // BM25 over the search keywords; newest first when there are none
+
+    final NumericColumn column;
+    final boolean ascending;
+
+    CatalogSort(NumericColumn column, boolean ascending) {
+        this.column = column;
+        this.ascending = ascending;
+    }
+
+    /**
+     * Parses the request value ("price_asc", "size_desc", ...); null or empty means newest first.
+     */
+    public static CatalogSort parse(String value) {
+        if (value == null || value.isEmpty()) {
+            return NEWEST;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort: " + value);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.buildex.service.catalog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable spatial index: properties bucketed into fixed-size latitude/longitude cells.
+ *
+ * A bounding-box query only visits the cells overlapping the box, so its cost depends on the area
+ * searched rather than on the size of the catalog. Candidates are whole cells; the snapshot checks
+ * the exact coordinates afterwards. Properties without coordinates are not indexed.
+ */
+final class GeoGrid {
+
+    // ~5.5 km of latitude; a typical "near me" radius touches a handful of cells
+    static final double CELL_DEGREES = 0.05;
+
+    private final Map<Long, PostingList> cells;
+
+    private GeoGrid(Map<Long, PostingList> cells) {
+        this.cells = cells;
+    }
+
+    static GeoGrid build(CatalogEntry[] entries) {
+        Map<Long, IdBuffer> buffers = new HashMap<>();
+        for (CatalogEntry entry : entries) {
+            Long cell = cellOf(entry);
+            if (cell != null) {
+                buffers.computeIfAbsent(cell, c -> new IdBuffer()).add(entry.getId());
+            }
+        }
+        Map<Long, PostingList> cells = new HashMap<>(buffers.size() * 2);
+        buffers.forEach((cell, buffer) -> {
+            Arrays.sort(buffer.ids, 0, buffer.count);
+            cells.put(cell, PostingList.of(buffer.ids, buffer.count));
+        });
+        return new GeoGrid(cells);
+    }
+
+    /**
+     * Returns a copy reflecting one property changing from {@code previous} to {@code next}
+     * (either may be null). Cells other than the old and new one are shared with this grid.
+     */
+    GeoGrid with(CatalogEntry previous, CatalogEntry next) {
+        Long before = previous != null ? cellOf(previous) : null;
+        Long after = next != null ? cellOf(next) : null;
+        if (before == null ? after == null : before.equals(after)) {
+            return this;
+        }
+        long id = next != null ? next.getId() : previous.getId();
+        Map<Long, PostingList> copy = new HashMap<>(cells);
+        if (before != null) {
+            PostingList list = copy.getOrDefault(before, PostingList.EMPTY).with(id, false);
+            if (list.size() == 0) {
+                copy.remove(before);
+            } else {
+                copy.put(before, list);
+            }
+        }
+        if (after != null) {
+            copy.put(after, copy.getOrDefault(after, PostingList.EMPTY).with(id, true));
+        }
+        return new GeoGrid(copy);
+    }
+
+    /**
+     * Ids of properties in cells overlapping the box (unsorted, may include properties just outside it).
+     */
+    long[] candidates(double minLat, double minLon, double maxLat, double maxLon) {
+        int fromLat = index(minLat);
+        int toLat = index(maxLat);
+        int fromLon = index(minLon);
+        int toLon = index(maxLon);
+        IdBuffer ids = new IdBuffer();
+        long boxCells = (long) (toLat - fromLat + 1) * (toLon - fromLon + 1);
+        if (boxCells > cells.size()) {
+            // Huge box over a sparse grid: cheaper to walk the occupied cells than the box
+            cells.forEach((cell, list) -> {
+                int lat = (int) (cell >> 32);
+                int lon = (int) (long) cell;
+                if (lat >= fromLat && lat <= toLat && lon >= fromLon && lon <= toLon) {
+                    addAll(list, ids);
+                }
+            });
+        } else {
+            for (int lat = fromLat; lat <= toLat; lat++) {
+                for (int lon = fromLon; lon <= toLon; lon++) {
+                    PostingList list = cells.get(key(lat, lon));
+                    if (list != null) {
+                        addAll(list, ids);
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(ids.ids, ids.count);
+    }
+
+    private static void addAll(PostingList list, IdBuffer ids) {
+        for (long id : list.toArray()) {
+            ids.add(id);
+        }
+    }
+
+    private static Long cellOf(CatalogEntry entry) {
+        Double lat = entry.getSummary().getLatitude();
+        Double lon = entry.getSummary().getLongitude();
+        if (lat == null || lon == null || lat.isNaN() || lon.isNaN()) {
+            return null;
+        }
+        return key(index(lat), index(lon));
+    }
+
+    private static int index(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long key(int lat, int lon) {
+        return ((long) lat << 32) | (lon & 0xffffffffL);
+    }
+}
@@ -0,0 +1,16 @@
+package com.buildex.service.catalog;
+
+import java.util.Arrays;
+
+// Growable id array used while bulk-building posting lists
+final class IdBuffer {
+    long[] ids = new long[4];
+    int count;
+
+    void add(long id) {
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, count * 2);
+        }
+        ids[count++] = id;
+    }
+}
@@ -0,0 +1,256 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.MapClusterDTO;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed map marker clusters: one grid level per zoom, aggregated bottom-up.
+ *
+ * Cells are squares in Web Mercator, four per 256px map tile side (about 64px on screen), so a
+ * zoom level is twice as fine as the one above it and every cell has four children. The finest
+ * level is built from the properties themselves, every coarser cell from its children. A write
+ * recomputes one finest cell and its ancestors - {@link #MAX_ZOOM} + 1 cells - instead of the grid.
+ * Readers see each cell swap atomically; an update in progress may show a cell at one zoom level
+ * before its ancestors catch up.
+ */
+@Component
+public class MarkerClusterIndex implements CatalogListener {
+
+    public static final int MAX_ZOOM = 16;
+
+    private static final int CELLS_PER_TILE_LOG2 = 2;
+    private static final double MAX_MERCATOR_LAT = 85.05112878;
+
+    private volatile Levels levels = new Levels();
+
+    @Override
+    public void onCatalogLoaded(CatalogSnapshot snapshot) {
+        Levels built = new Levels();
+        built.build(snapshot.entries());
+        levels = built;
+    }
+
+    @Override
+    public void onEntryChanged(CatalogSnapshot before, CatalogSnapshot after, CatalogEntry previous,
+            CatalogEntry current) {
+        Levels target = levels;
+        if (previous != null) {
+            target.remove(previous);
+        }
+        if (current != null) {
+            target.add(current);
+        }
+    }
+
+    /**
+     * Clusters of the cells at {@code zoom} that overlap the box. Zoom levels past {@link #MAX_ZOOM}
+     * use the finest level.
+     */
+    public List<MapClusterDTO> clusters(double minLat, double minLon, double maxLat, double maxLon, int zoom) {
+        int z = Math.max(0, Math.min(MAX_ZOOM, zoom));
+        Map<Long, Cluster> cells = levels.cells[z];
+        int fromX = cellX(minLon, z);
+        int toX = cellX(maxLon, z);
+        int fromY = cellY(maxLat, z); // Mercator y grows southwards
+        int toY = cellY(minLat, z);
+
+        List<MapClusterDTO> result = new ArrayList<>();
+        long boxCells = (long) (toX - fromX + 1) * (toY - fromY + 1);
+        if (boxCells > cells.size()) {
+            cells.forEach((key, cluster) -> {
+                int x = (int) (key >> 32);
+                int y = (int) (long) key;
+                if (x >= fromX && x <= toX && y >= fromY && y <= toY) {
+                    result.add(cluster.toDto());
+                }
+            });
+        } else {
+            for (int x = fromX; x <= toX; x++) {
+                for (int y = fromY; y <= toY; y++) {
+                    Cluster cluster = cells.get(key(x, y));
+                    if (cluster != null) {
+                        result.add(cluster.toDto());
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static final class Levels {
+        // Finest cell -> its properties; only touched by the (single) catalog writer
+        private final Map<Long, Map<Long, CatalogEntry>> members = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        private final Map<Long, Cluster>[] cells = new Map[MAX_ZOOM + 1];
+
+        Levels() {
+            for (int z = 0; z <= MAX_ZOOM; z++) {
+                cells[z] = new ConcurrentHashMap<>();
+            }
+        }
+
+        void build(List<CatalogEntry> entries) {
+            for (CatalogEntry entry : entries) {
+                if (hasLocation(entry)) {
+                    members.computeIfAbsent(cellOf(entry), k -> new HashMap<>()).put(entry.getId(), entry);
+                }
+            }
+            members.forEach((key, cellEntries) -> cells[MAX_ZOOM].put(key, aggregate(cellEntries.values())));
+            for (int z = MAX_ZOOM - 1; z >= 0; z--) {
+                Map<Long, Cluster> level = cells[z];
+                cells[z + 1].forEach((key, child) -> level.merge(parent(key), child, Cluster::merge));
+            }
+        }
+
+        void add(CatalogEntry entry) {
+            if (hasLocation(entry)) {
+                long key = cellOf(entry);
+                members.computeIfAbsent(key, k -> new HashMap<>()).put(entry.getId(), entry);
+                refresh(key);
+            }
+        }
+
+        void remove(CatalogEntry entry) {
+            if (hasLocation(entry)) {
+                long key = cellOf(entry);
+                Map<Long, CatalogEntry> cell = members.get(key);
+                if (cell != null && cell.remove(entry.getId()) != null) {
+                    if (cell.isEmpty()) {
+                        members.remove(key);
+                    }
+                    refresh(key);
+                }
+            }
+        }
+
+        // Recomputes a finest cell from its members, then each ancestor from its four children
+        private void refresh(long finestKey) {
+            Map<Long, CatalogEntry> cell = members.get(finestKey);
+            put(MAX_ZOOM, finestKey, cell == null ? null : aggregate(cell.values()));
+            long key = finestKey;
+            for (int z = MAX_ZOOM - 1; z >= 0; z--) {
+                key = parent(key);
+                int x = (int) (key >> 32) << 1;
+                int y = (int) key << 1;
+                Cluster merged = null;
+                for (int dx = 0; dx < 2; dx++) {
+                    for (int dy = 0; dy < 2; dy++) {
+                        merged = Cluster.merge(merged, cells[z + 1].get(key(x + dx, y + dy)));
+                    }
+                }
+                put(z, key, merged);
+            }
+        }
+
+        private void put(int z, long key, Cluster cluster) {
+            if (cluster == null) {
+                cells[z].remove(key);
+            } else {
+                cells[z].put(key, cluster);
+            }
+        }
+
+        private static Cluster aggregate(Iterable<CatalogEntry> entries) {
+            Cluster cluster = null;
+            for (CatalogEntry entry : entries) {
+                cluster = Cluster.merge(cluster, Cluster.of(entry));
+            }
+            return cluster;
+        }
+    }
+
+    private static final class Cluster {
+        private final int count;
+        private final double sumLat;
+        private final double sumLon;
+        private final BigDecimal minPrice;
+        private final BigDecimal maxPrice;
+        private final Long propertyId;
+
+        private Cluster(int count, double sumLat, double sumLon, BigDecimal minPrice, BigDecimal maxPrice,
+                Long propertyId) {
+            this.count = count;
+            this.sumLat = sumLat;
+            this.sumLon = sumLon;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.propertyId = propertyId;
+        }
+
+        static Cluster of(CatalogEntry entry) {
+            BigDecimal price = entry.getSummary().getPrice();
+            return new Cluster(1, entry.getSummary().getLatitude(), entry.getSummary().getLongitude(),
+                    price, price, entry.getId());
+        }
+
+        static Cluster merge(Cluster a, Cluster b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return new Cluster(a.count + b.count, a.sumLat + b.sumLat, a.sumLon + b.sumLon,
+                    min(a.minPrice, b.minPrice), max(a.maxPrice, b.maxPrice), null);
+        }
+
+        MapClusterDTO toDto() {
+            return MapClusterDTO.builder()
+                    .latitude(sumLat / count)
+                    .longitude(sumLon / count)
+                    .count(count)
+                    .minPrice(minPrice)
+                    .maxPrice(maxPrice)
+                    .propertyId(propertyId)
+                    .build();
+        }
+
+        private static BigDecimal min(BigDecimal a, BigDecimal b) {
+            return a == null ? b : b == null ? a : a.min(b);
+        }
+
+        private static BigDecimal max(BigDecimal a, BigDecimal b) {
+            return a == null ? b : b == null ? a : a.max(b);
+        }
+    }
+
+    private static boolean hasLocation(CatalogEntry entry) {
+        Double lat = entry.getSummary().getLatitude();
+        Double lon = entry.getSummary().getLongitude();
+        return lat != null && lon != null && !lat.isNaN() && !lon.isNaN();
+    }
+
+    private static long cellOf(CatalogEntry entry) {
+        return key(cellX(entry.getSummary().getLongitude(), MAX_ZOOM), cellY(entry.getSummary().getLatitude(), MAX_ZOOM));
+    }
+
+    private static int cellX(double lon, int zoom) {
+        double x = (lon + 180) / 360;
+        return clamp((int) Math.floor(x * cellsPerSide(zoom)), zoom);
+    }
+
+    private static int cellY(double lat, int zoom) {
+        double rad = Math.toRadians(Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat)));
+        double y = (1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2;
+        return clamp((int) Math.floor(y * cellsPerSide(zoom)), zoom);
+    }
+
+    private static int cellsPerSide(int zoom) {
+        return 1 << (zoom + CELLS_PER_TILE_LOG2);
+    }
+
+    private static int clamp(int cell, int zoom) {
+        return Math.max(0, Math.min(cellsPerSide(zoom) - 1, cell));
+    }
+
+    private static long parent(long key) {
+        return key((int) (key >> 32) >> 1, (int) key >> 1);
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+}
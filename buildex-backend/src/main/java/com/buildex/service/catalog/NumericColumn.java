@@ -0,0 +1,43 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.PropertySummaryDTO;
+
+/**
+ * Numeric listing attributes the catalog can range-filter and sort on.
+ */
+enum NumericColumn {
+    PRICE("price"),
+    RENT("rentAmount"),
+    PRICE_PER_SQFT("pricePerSqft"),
+    AREA_SQFT("areaSqft"),
+    BEDROOMS("bedrooms");
+
+    private final String property;
+
+    NumericColumn(String property) {
+        this.property = property;
+    }
+
+    // Name reported in the page's Sort
+    String property() {
+        return property;
+    }
+
+    // NaN when the listing has no value
+    double valueOf(PropertySummaryDTO summary) {
+        switch (this) {
+            case PRICE:
+                return summary.getPrice() != null ? summary.getPrice().doubleValue() : Double.NaN;
+            case RENT:
+                return summary.getRentAmount() != null ? summary.getRentAmount().doubleValue() : Double.NaN;
+            case PRICE_PER_SQFT:
+                return summary.getPrice() != null && summary.getAreaSqft() != null && summary.getAreaSqft() > 0
+                        ? summary.getPrice().doubleValue() / summary.getAreaSqft()
+                        : Double.NaN;
+            case AREA_SQFT:
+                return summary.getAreaSqft() != null ? summary.getAreaSqft() : Double.NaN;
+            default:
+                return summary.getBedrooms() != null ? summary.getBedrooms() : Double.NaN;
+        }
+    }
+}
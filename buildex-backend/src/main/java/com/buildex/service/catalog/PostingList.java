@@ -0,0 +1,115 @@
+package com.buildex.service.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, sorted set of property ids stored as delta-encoded varints.
+ * Most posting lists hold a handful of ids whose gaps fit in one or two bytes.
+ */
+final class PostingList {
+
+    static final PostingList EMPTY = new PostingList(new byte[0], 0);
+
+    private final byte[] data;
+    private final int size;
+
+    private PostingList(byte[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    static PostingList of(long[] sortedIds, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        byte[] buffer = new byte[count * 10];
+        int pos = 0;
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long gap = sortedIds[i] - previous;
+            previous = sortedIds[i];
+            while ((gap & ~0x7FL) != 0) {
+                buffer[pos++] = (byte) ((gap & 0x7F) | 0x80);
+                gap >>>= 7;
+            }
+            buffer[pos++] = (byte) gap;
+        }
+        return new PostingList(Arrays.copyOf(buffer, pos), count);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size];
+        Decoder decoder = new Decoder();
+        for (int i = 0; i < size; i++) {
+            ids[i] = decoder.next();
+        }
+        return ids;
+    }
+
+    /**
+     * Returns a copy with {@code id} added (if absent) or removed.
+     */
+    PostingList with(long id, boolean present) {
+        long[] ids = toArray();
+        int at = Arrays.binarySearch(ids, id);
+        if (present == at >= 0) {
+            return this;
+        }
+        long[] next;
+        if (present) {
+            int insert = -at - 1;
+            next = new long[ids.length + 1];
+            System.arraycopy(ids, 0, next, 0, insert);
+            next[insert] = id;
+            System.arraycopy(ids, insert, next, insert + 1, ids.length - insert);
+        } else {
+            next = new long[ids.length - 1];
+            System.arraycopy(ids, 0, next, 0, at);
+            System.arraycopy(ids, at + 1, next, at, ids.length - at - 1);
+        }
+        return of(next, next.length);
+    }
+
+    /**
+     * Keeps only the first {@code count} entries of {@code ids} (sorted) that are also in this list.
+     * Returns the new count. Decodes this list once, in step with {@code ids}.
+     */
+    int retainAll(long[] ids, int count) {
+        Decoder decoder = new Decoder();
+        int remaining = size;
+        long current = remaining > 0 ? decoder.next() : Long.MAX_VALUE;
+        int kept = 0;
+        for (int i = 0; i < count && remaining > 0; i++) {
+            long id = ids[i];
+            while (current < id && --remaining > 0) {
+                current = decoder.next();
+            }
+            if (remaining > 0 && current == id) {
+                ids[kept++] = id;
+            }
+        }
+        return kept;
+    }
+
+    private final class Decoder {
+        private int pos;
+        private long value;
+
+        long next() {
+            long gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                gap |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            value += gap;
+            return value;
+        }
+    }
+}
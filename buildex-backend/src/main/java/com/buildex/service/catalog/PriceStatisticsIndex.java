@@ -0,0 +1,259 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.PriceStatisticsDTO;
+import com.buildex.entity.Property;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Price and rent statistics per area, per city and overall, kept in {@link QuantileSketch}es.
+ *
+ * Each area holds its listings' values and four sketches (price and rent, absolute and per sqft);
+ * a city's sketches are the merge of its areas', the overall ones the merge of the cities'. A new
+ * listing is simply added to the three sketches it belongs to. Sketches cannot forget a value, so
+ * an update or removal marks the affected groups stale instead; a stale area is rebuilt from its
+ * listings and a stale city or the overall group re-merged from its children when next read.
+ */
+@Component
+public class PriceStatisticsIndex implements CatalogListener {
+
+    public static final int MAX_BUCKETS = 50;
+
+    // Guarded by `this`
+    private Group overall = new Group(null, null);
+
+    @Override
+    public synchronized void onCatalogLoaded(CatalogSnapshot snapshot) {
+        overall = new Group(null, null);
+        for (CatalogEntry entry : snapshot.entries()) {
+            insert(entry);
+        }
+    }
+
+    @Override
+    public synchronized void onEntryChanged(CatalogSnapshot before, CatalogSnapshot after, CatalogEntry previous,
+            CatalogEntry current) {
+        if (previous == null) {
+            if (current != null) {
+                insert(current);
+            }
+            return;
+        }
+        if (current != null && Values.of(current).equals(Values.of(previous))
+                && cityKey(current).equals(cityKey(previous)) && areaKey(current).equals(areaKey(previous))) {
+            return; // Nothing the statistics depend on changed
+        }
+        remove(previous);
+        if (current != null) {
+            Group area = areaGroup(current);
+            area.members.put(current.getId(), Values.of(current));
+            invalidate(area, current);
+        }
+    }
+
+    /**
+     * Statistics for an area of a city, a whole city ({@code area} null) or all listings (both
+     * null), with histograms of {@code buckets} equal-width buckets. Unknown places give empty
+     * statistics.
+     */
+    public synchronized PriceStatisticsDTO statistics(String city, String area, int buckets) {
+        Group group = overall;
+        if (city != null) {
+            group = group.children.get(lower(city));
+            if (group != null && area != null) {
+                group = group.children.get(lower(area));
+            }
+        }
+        int bucketCount = Math.max(1, Math.min(MAX_BUCKETS, buckets));
+        Sketches sketches = group == null ? new Sketches() : group.sketches();
+        return PriceStatisticsDTO.builder()
+                .city(group != null && group.city != null ? group.city : city)
+                .area(group != null && group.area != null ? group.area : area)
+                .pricePerSqft(quantiles(sketches.pricePerSqft))
+                .rentPerSqft(quantiles(sketches.rentPerSqft))
+                .priceHistogram(histogram(sketches.price, bucketCount))
+                .rentHistogram(histogram(sketches.rent, bucketCount))
+                .build();
+    }
+
+    private void insert(CatalogEntry entry) {
+        Group area = areaGroup(entry);
+        Values values = Values.of(entry);
+        area.members.put(entry.getId(), values);
+        // Stale groups are rebuilt on read and will include the listing then
+        Group city = overall.children.get(cityKey(entry));
+        for (Group group : new Group[] {area, city, overall}) {
+            if (!group.stale) {
+                group.sketches.add(values);
+            }
+        }
+    }
+
+    private void remove(CatalogEntry entry) {
+        Group city = overall.children.get(cityKey(entry));
+        Group area = city == null ? null : city.children.get(areaKey(entry));
+        if (area == null || area.members.remove(entry.getId()) == null) {
+            return;
+        }
+        if (area.members.isEmpty()) {
+            city.children.remove(areaKey(entry));
+            if (city.children.isEmpty()) {
+                overall.children.remove(cityKey(entry));
+            }
+        }
+        invalidate(area, entry);
+    }
+
+    private void invalidate(Group area, CatalogEntry entry) {
+        area.stale = true;
+        Group city = overall.children.get(cityKey(entry));
+        if (city != null) {
+            city.stale = true;
+        }
+        overall.stale = true;
+    }
+
+    private Group areaGroup(CatalogEntry entry) {
+        String city = display(entry.getSummary().getCity());
+        return overall.children.computeIfAbsent(cityKey(entry), k -> new Group(city, null))
+                .children.computeIfAbsent(areaKey(entry), k -> new Group(city, display(entry.getSummary().getArea())));
+    }
+
+    private static PriceStatisticsDTO.Quantiles quantiles(QuantileSketch sketch) {
+        PriceStatisticsDTO.Quantiles.QuantilesBuilder builder = PriceStatisticsDTO.Quantiles.builder()
+                .count(sketch.count());
+        if (sketch.count() == 0) {
+            return builder.build();
+        }
+        return builder
+                .min(round(sketch.min()))
+                .p10(round(sketch.quantile(0.10)))
+                .p25(round(sketch.quantile(0.25)))
+                .median(round(sketch.quantile(0.50)))
+                .p75(round(sketch.quantile(0.75)))
+                .p90(round(sketch.quantile(0.90)))
+                .max(round(sketch.max()))
+                .build();
+    }
+
+    // Equal-width buckets between the 1st and 99th percentile; the outer buckets stretch to min and max
+    private static List<PriceStatisticsDTO.Bucket> histogram(QuantileSketch sketch, int buckets) {
+        List<PriceStatisticsDTO.Bucket> result = new ArrayList<>(buckets);
+        if (sketch.count() == 0) {
+            return result;
+        }
+        double low = sketch.quantile(0.01);
+        double high = sketch.quantile(0.99);
+        if (!(high > low)) {
+            result.add(new PriceStatisticsDTO.Bucket(round(sketch.min()), round(sketch.max()), sketch.count()));
+            return result;
+        }
+        double width = (high - low) / buckets;
+        double[] bounds = new double[buckets - 1];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = round(low + width * (i + 1));
+        }
+        long[] below = sketch.countsBelow(bounds);
+        long previous = 0;
+        for (int i = 0; i < buckets; i++) {
+            long upTo = i < bounds.length ? below[i] : sketch.count();
+            result.add(new PriceStatisticsDTO.Bucket(
+                    i == 0 ? round(sketch.min()) : bounds[i - 1],
+                    i < bounds.length ? bounds[i] : round(sketch.max()),
+                    upTo - previous));
+            previous = upTo;
+        }
+        return result;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String cityKey(CatalogEntry entry) {
+        return lower(entry.getSummary().getCity());
+    }
+
+    private static String areaKey(CatalogEntry entry) {
+        return lower(entry.getSummary().getArea());
+    }
+
+    private static String display(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : CatalogSnapshot.lower(value.trim());
+    }
+
+    // What a listing contributes to the statistics; NaN where it contributes nothing
+    private record Values(double price, double pricePerSqft, double rent, double rentPerSqft) {
+        static Values of(CatalogEntry entry) {
+            Integer areaSqft = entry.getSummary().getAreaSqft();
+            boolean rental = entry.getSummary().getPurpose() == Property.Purpose.RENT;
+            double price = rental ? Double.NaN : positive(entry.getSummary().getPrice());
+            double rent = rental ? positive(entry.getSummary().getRentAmount()) : Double.NaN;
+            double size = areaSqft != null && areaSqft > 0 ? areaSqft : Double.NaN;
+            return new Values(price, price / size, rent, rent / size);
+        }
+
+        private static double positive(BigDecimal amount) {
+            return amount != null && amount.signum() > 0 ? amount.doubleValue() : Double.NaN;
+        }
+    }
+
+    private static final class Sketches {
+        final QuantileSketch price = new QuantileSketch();
+        final QuantileSketch pricePerSqft = new QuantileSketch();
+        final QuantileSketch rent = new QuantileSketch();
+        final QuantileSketch rentPerSqft = new QuantileSketch();
+
+        void add(Values values) {
+            price.add(values.price());
+            pricePerSqft.add(values.pricePerSqft());
+            rent.add(values.rent());
+            rentPerSqft.add(values.rentPerSqft());
+        }
+
+        void merge(Sketches other) {
+            price.merge(other.price);
+            pricePerSqft.merge(other.pricePerSqft);
+            rent.merge(other.rent);
+            rentPerSqft.merge(other.rentPerSqft);
+        }
+    }
+
+    /**
+     * The overall group (children are cities), a city (children are areas) or an area (members are
+     * its listings).
+     */
+    private static final class Group {
+        final String city;
+        final String area;
+        final Map<String, Group> children = new HashMap<>();
+        final Map<Long, Values> members = new HashMap<>();
+        Sketches sketches = new Sketches();
+        boolean stale;
+
+        Group(String city, String area) {
+            this.city = city;
+            this.area = area;
+        }
+
+        Sketches sketches() {
+            if (stale) {
+                Sketches rebuilt = new Sketches();
+                members.values().forEach(rebuilt::add);
+                children.values().forEach(child -> rebuilt.merge(child.sketches()));
+                sketches = rebuilt;
+                stale = false;
+            }
+            return sketches;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.buildex.service.catalog;
+
+import com.buildex.service.TransactionHooks;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Holds the current {@link CatalogSnapshot} and swaps it copy-on-write when properties change.
+ *
+ * Readers only do a volatile read and never block. The snapshot is loaded from the
+ * database on first use; afterwards writes are applied in memory once their transaction
+ * has committed, so a rolled-back write never becomes visible.
+ */
+@Component
+public class PropertyCatalog {
+
+    private final Object writeLock = new Object();
+    private final ObjectProvider<CatalogListener> listeners;
+    private volatile CatalogSnapshot snapshot;
+
+    public PropertyCatalog(ObjectProvider<CatalogListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    /**
+     * Returns the current snapshot, loading it with the given loader on a cold start.
+     */
+    public CatalogSnapshot get(Supplier<List<CatalogEntry>> loader) {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (writeLock) {
+            if (snapshot == null) {
+                long start = System.currentTimeMillis();
+                snapshot = CatalogSnapshot.of(loader.get(), 1);
+                System.out.println("Property catalog loaded: " + snapshot.size() + " properties in "
+                        + (System.currentTimeMillis() - start) + "ms");
+                CatalogSnapshot loaded = snapshot;
+                notifyListeners(listener -> listener.onCatalogLoaded(loaded));
+            }
+            return snapshot;
+        }
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Adds or replaces a verified property once the current transaction commits.
+     */
+    public void upsert(CatalogEntry entry) {
+        TransactionHooks.afterCommit(() -> apply(entry.getId(), current -> current.withEntry(entry)));
+    }
+
+    /**
+     * Removes a property (deleted or no longer verified) once the current transaction commits.
+     */
+    public void remove(long id) {
+        TransactionHooks.afterCommit(() -> apply(id, current -> current.without(id)));
+    }
+
+    private void apply(long id, java.util.function.UnaryOperator<CatalogSnapshot> change) {
+        synchronized (writeLock) {
+            CatalogSnapshot before = snapshot;
+            if (before == null) {
+                // Not loaded yet: the first read will pick the change up from the database
+                notifyListeners(listener -> listener.onUntrackedChange(id));
+                return;
+            }
+            CatalogSnapshot after = change.apply(before);
+            snapshot = after;
+            CatalogEntry previous = before.get(id);
+            CatalogEntry current = after.get(id);
+            if (previous != null || current != null) {
+                notifyListeners(listener -> listener.onEntryChanged(before, after, previous, current));
+            }
+        }
+    }
+
+    private void notifyListeners(java.util.function.Consumer<CatalogListener> event) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                System.err.println("Catalog listener " + listener.getClass().getSimpleName() + " failed: " + e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,186 @@
+package com.buildex.service.catalog;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * KLL quantile sketch: a fixed-size, mergeable summary of a stream of values whose rank error
+ * stays within about 1-2% however many values it has seen.
+ *
+ * Values enter level 0 with weight 1. When a level is full it is sorted and every other value
+ * (the odd or the even ones, at random) moves one level up with twice the weight. Lower levels
+ * get geometrically smaller capacities, so the sketch holds O(k) values. Sketches of disjoint
+ * streams merge level by level into a sketch of the combined stream.
+ *
+ * Not thread-safe; values cannot be removed.
+ */
+final class QuantileSketch {
+
+    private static final int K = 200;
+    private static final int MIN_CAPACITY = 8;
+    private static final double DECAY = 2.0 / 3.0;
+
+    private double[][] levels = {new double[K]};
+    private int[] sizes = {0};
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0) {
+            min = max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        count++;
+        append(0, value);
+        compress();
+    }
+
+    void merge(QuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        while (levels.length < other.levels.length) {
+            grow();
+        }
+        for (int level = 0; level < other.levels.length; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        compress();
+    }
+
+    long count() {
+        return count;
+    }
+
+    double min() {
+        return min;
+    }
+
+    double max() {
+        return max;
+    }
+
+    /**
+     * Approximate value at rank {@code q} (0 = min, 1 = max); NaN when empty.
+     */
+    double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (q <= 0) return min;
+        if (q >= 1) return max;
+        Weighted sorted = sorted();
+        double target = q * sorted.total;
+        long seen = 0;
+        for (int i = 0; i < sorted.values.length; i++) {
+            seen += sorted.weights[i];
+            if (seen >= target) {
+                return sorted.values[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Approximate number of values below each of the ascending {@code bounds}.
+     */
+    long[] countsBelow(double[] bounds) {
+        long[] result = new long[bounds.length];
+        if (count == 0) {
+            return result;
+        }
+        Weighted sorted = sorted();
+        int i = 0;
+        long seen = 0;
+        for (int b = 0; b < bounds.length; b++) {
+            while (i < sorted.values.length && sorted.values[i] < bounds[b]) {
+                seen += sorted.weights[i++];
+            }
+            // Retained weights may total slightly more or less than count; scale to it
+            result[b] = Math.round((double) seen * count / sorted.total);
+        }
+        return result;
+    }
+
+    private Weighted sorted() {
+        int n = 0;
+        for (int size : sizes) n += size;
+        double[] values = new double[n];
+        long[] weights = new long[n];
+        int at = 0;
+        for (int level = 0; level < levels.length; level++) {
+            for (int i = 0; i < sizes[level]; i++) {
+                values[at] = levels[level][i];
+                weights[at] = 1L << level;
+                at++;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        double[] sortedValues = new double[n];
+        long[] sortedWeights = new long[n];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            sortedValues[i] = values[order[i]];
+            sortedWeights[i] = weights[order[i]];
+            total += sortedWeights[i];
+        }
+        return new Weighted(sortedValues, sortedWeights, total);
+    }
+
+    private void append(int level, double value) {
+        if (level == levels.length) {
+            grow();
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+    }
+
+    // Halves every over-full level into the one above, lowest first
+    private void compress() {
+        for (int level = 0; level < levels.length; level++) {
+            if (sizes[level] < capacity(level)) {
+                continue;
+            }
+            double[] values = levels[level];
+            int size = sizes[level];
+            Arrays.sort(values, 0, size);
+            int offset = ThreadLocalRandom.current().nextInt(2);
+            // An odd value out stays on this level
+            int keep = size % 2;
+            for (int i = keep + offset; i < size; i += 2) {
+                append(level + 1, values[i]);
+            }
+            sizes[level] = keep;
+        }
+    }
+
+    private void grow() {
+        int level = levels.length;
+        levels = Arrays.copyOf(levels, level + 1);
+        sizes = Arrays.copyOf(sizes, level + 1);
+        levels[level] = new double[K];
+    }
+
+    private int capacity(int level) {
+        int depth = levels.length - 1 - level;
+        return Math.max(MIN_CAPACITY, (int) Math.ceil(K * Math.pow(DECAY, depth)));
+    }
+
+    private record Weighted(double[] values, long[] weights, long total) {
+    }
+}
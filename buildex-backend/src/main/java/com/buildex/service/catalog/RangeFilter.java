@@ -0,0 +1,79 @@
+package com.buildex.service.catalog;
+
+import java.math.BigDecimal;
+
+/**
+ * Inclusive min/max bounds on the numeric listing attributes; a null bound is open.
+ * Listings without a value for a bounded attribute never match that bound.
+ */
+public final class RangeFilter {
+
+    public static final RangeFilter NONE = new RangeFilter();
+
+    private final double[] min = new double[NumericColumn.values().length];
+    private final double[] max = new double[NumericColumn.values().length];
+    private boolean empty = true;
+
+    private RangeFilter() {
+        java.util.Arrays.fill(min, Double.NEGATIVE_INFINITY);
+        java.util.Arrays.fill(max, Double.POSITIVE_INFINITY);
+    }
+
+    public static RangeFilter of(BigDecimal minPrice, BigDecimal maxPrice,
+            BigDecimal minRent, BigDecimal maxRent,
+            Integer minAreaSqft, Integer maxAreaSqft,
+            Integer minBedrooms, Integer maxBedrooms) {
+        RangeFilter filter = new RangeFilter();
+        filter.bound(NumericColumn.PRICE, minPrice, maxPrice);
+        filter.bound(NumericColumn.RENT, minRent, maxRent);
+        filter.bound(NumericColumn.AREA_SQFT, minAreaSqft, maxAreaSqft);
+        filter.bound(NumericColumn.BEDROOMS, minBedrooms, maxBedrooms);
+        return filter.empty ? NONE : filter;
+    }
+
+    private void bound(NumericColumn column, Number low, Number high) {
+        if (low != null && high != null && low.doubleValue() > high.doubleValue()) {
+            throw new IllegalArgumentException("Minimum exceeds maximum for " + column.property());
+        }
+        if (low != null) {
+            min[column.ordinal()] = low.doubleValue();
+            empty = false;
+        }
+        if (high != null) {
+            max[column.ordinal()] = high.doubleValue();
+            empty = false;
+        }
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    // Whether a single listing satisfies every bound
+    boolean accepts(com.buildex.dto.PropertySummaryDTO summary) {
+        if (empty) {
+            return true;
+        }
+        for (NumericColumn column : NumericColumn.values()) {
+            if (isBounded(column)) {
+                double value = column.valueOf(summary);
+                if (Double.isNaN(value) || value < min(column) || value > max(column)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    boolean isBounded(NumericColumn column) {
+        return min[column.ordinal()] != Double.NEGATIVE_INFINITY || max[column.ordinal()] != Double.POSITIVE_INFINITY;
+    }
+
+    double min(NumericColumn column) {
+        return min[column.ordinal()];
+    }
+
+    double max(NumericColumn column) {
+        return max[column.ordinal()];
+    }
+}
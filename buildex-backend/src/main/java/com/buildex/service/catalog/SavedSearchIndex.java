@@ -0,0 +1,153 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.PropertySummaryDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse index of saved searches: given a listing, finds the searches it matches without
+ * testing every one.
+ *
+ * Each search is filed under a single anchor key that every listing it matches must produce:
+ * a character gram of its city, area or search-text needle (the needle itself when shorter than
+ * a trigram, any of its trigrams otherwise), or else its combination of enum filters. Of its
+ * possible anchors a search takes the one whose bucket is smallest at the time, which keeps
+ * buckets balanced. A listing produces every 1-3 character substring of its text fields and
+ * the eight enum combinations it satisfies; only the searches in those buckets are checked in
+ * full. Searches with no text or enum filter at all share one bucket and are always checked.
+ */
+public final class SavedSearchIndex {
+
+    private static final int GRAM = TrigramIndex.GRAM;
+    private static final String ANY = "*";
+
+    private final Map<Long, SearchCriteria> criteria = new HashMap<>();
+    private final Map<Long, String> anchorOf = new HashMap<>();
+    private final Map<String, Set<Long>> buckets = new HashMap<>();
+
+    public synchronized void put(long id, SearchCriteria search) {
+        remove(id);
+        String anchor = null;
+        int smallest = Integer.MAX_VALUE;
+        for (String key : anchors(search)) {
+            int size = bucketSize(key);
+            if (size < smallest) {
+                anchor = key;
+                smallest = size;
+            }
+        }
+        criteria.put(id, search);
+        anchorOf.put(id, anchor);
+        buckets.computeIfAbsent(anchor, k -> new HashSet<>()).add(id);
+    }
+
+    public synchronized void remove(long id) {
+        String anchor = anchorOf.remove(id);
+        if (anchor != null) {
+            criteria.remove(id);
+            Set<Long> bucket = buckets.get(anchor);
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                buckets.remove(anchor);
+            }
+        }
+    }
+
+    /**
+     * Ids of the saved searches the listing matches.
+     */
+    public synchronized List<Long> matching(CatalogEntry entry) {
+        List<Long> result = new ArrayList<>();
+        for (String key : probes(entry)) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket == null) {
+                continue;
+            }
+            for (Long id : bucket) {
+                if (criteria.get(id).matches(entry)) {
+                    result.add(id);
+                }
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return criteria.size();
+    }
+
+    private int bucketSize(String key) {
+        Set<Long> bucket = buckets.get(key);
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    // Keys a search could be filed under; each is produced by every listing the search matches
+    private static List<String> anchors(SearchCriteria search) {
+        List<String> keys = new ArrayList<>();
+        addGrams(keys, 'c', search.cityNeedle());
+        addGrams(keys, 'a', search.areaNeedle());
+        addGrams(keys, 's', search.searchNeedle());
+        keys.add(enumKey(name(search.purpose()), name(search.propertyType()), name(search.availabilityStatus())));
+        return keys;
+    }
+
+    private static void addGrams(List<String> keys, char field, String needle) {
+        if (needle == null) {
+            return;
+        }
+        if (needle.length() <= GRAM) {
+            keys.add(field + needle);
+            return;
+        }
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            keys.add(field + needle.substring(i, i + GRAM));
+        }
+    }
+
+    // Keys a listing produces: all short substrings of its text fields plus its enum combinations
+    private static Set<String> probes(CatalogEntry entry) {
+        PropertySummaryDTO summary = entry.getSummary();
+        Set<String> keys = new LinkedHashSet<>();
+        addSubstrings(keys, 'c', summary.getCity());
+        addSubstrings(keys, 'a', summary.getArea());
+        addSubstrings(keys, 's', summary.getTitle());
+        addSubstrings(keys, 's', entry.getBuilderCompanyName());
+        addSubstrings(keys, 's', entry.getBuilderFullName());
+        addSubstrings(keys, 's', summary.getCity());
+        addSubstrings(keys, 's', summary.getArea());
+        String purpose = name(summary.getPurpose());
+        String type = name(summary.getType());
+        String availability = name(summary.getAvailability());
+        for (int mask = 0; mask < 8; mask++) {
+            keys.add(enumKey((mask & 1) != 0 ? purpose : ANY, (mask & 2) != 0 ? type : ANY,
+                    (mask & 4) != 0 ? availability : ANY));
+        }
+        return keys;
+    }
+
+    private static void addSubstrings(Set<String> keys, char field, String value) {
+        if (value == null) {
+            return;
+        }
+        String text = CatalogSnapshot.lower(value);
+        for (int i = 0; i < text.length(); i++) {
+            for (int length = 1; length <= GRAM && i + length <= text.length(); length++) {
+                keys.add(field + text.substring(i, i + length));
+            }
+        }
+    }
+
+    private static String enumKey(String purpose, String type, String availability) {
+        return "e" + purpose + "|" + type + "|" + availability;
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? ANY : value.name();
+    }
+}
@@ -0,0 +1,87 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.PropertySummaryDTO;
+import com.buildex.entity.Property;
+
+/**
+ * The filters of a {@code /api/properties/search} request, checkable against one listing.
+ * Matching follows {@link CatalogSnapshot#search}: enum filters are exact, city, area and the
+ * search text are case-insensitive substrings, ranges are inclusive.
+ */
+public final class SearchCriteria {
+
+    private final Property.Purpose purpose;
+    private final Property.PropertyType propertyType;
+    private final Property.AvailabilityStatus availabilityStatus;
+    private final String cityNeedle; // lowercased, null when unfiltered
+    private final String areaNeedle;
+    private final String searchNeedle;
+    private final RangeFilter ranges;
+
+    private SearchCriteria(Property.Purpose purpose, Property.PropertyType propertyType,
+            Property.AvailabilityStatus availabilityStatus, String city, String area, String search,
+            RangeFilter ranges) {
+        this.purpose = purpose;
+        this.propertyType = propertyType;
+        this.availabilityStatus = availabilityStatus;
+        this.cityNeedle = needle(city);
+        this.areaNeedle = needle(area);
+        this.searchNeedle = needle(search);
+        this.ranges = ranges == null ? RangeFilter.NONE : ranges;
+    }
+
+    public static SearchCriteria of(Property.Purpose purpose, Property.PropertyType propertyType,
+            Property.AvailabilityStatus availabilityStatus, String city, String area, String search,
+            RangeFilter ranges) {
+        return new SearchCriteria(purpose, propertyType, availabilityStatus, city, area, search, ranges);
+    }
+
+    public boolean matches(CatalogEntry entry) {
+        PropertySummaryDTO summary = entry.getSummary();
+        if (purpose != null && summary.getPurpose() != purpose) return false;
+        if (propertyType != null && summary.getType() != propertyType) return false;
+        if (availabilityStatus != null && summary.getAvailability() != availabilityStatus) return false;
+        if (cityNeedle != null && !contains(summary.getCity(), cityNeedle)) return false;
+        if (areaNeedle != null && !contains(summary.getArea(), areaNeedle)) return false;
+        if (searchNeedle != null && !(contains(summary.getTitle(), searchNeedle)
+                || contains(entry.getBuilderCompanyName(), searchNeedle)
+                || contains(entry.getBuilderFullName(), searchNeedle)
+                || contains(summary.getCity(), searchNeedle)
+                || contains(summary.getArea(), searchNeedle))) {
+            return false;
+        }
+        return ranges.accepts(summary);
+    }
+
+    Property.Purpose purpose() {
+        return purpose;
+    }
+
+    Property.PropertyType propertyType() {
+        return propertyType;
+    }
+
+    Property.AvailabilityStatus availabilityStatus() {
+        return availabilityStatus;
+    }
+
+    String cityNeedle() {
+        return cityNeedle;
+    }
+
+    String areaNeedle() {
+        return areaNeedle;
+    }
+
+    String searchNeedle() {
+        return searchNeedle;
+    }
+
+    private static String needle(String value) {
+        return value == null || value.isEmpty() ? null : CatalogSnapshot.lower(value);
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && CatalogSnapshot.lower(value).contains(needle);
+    }
+}
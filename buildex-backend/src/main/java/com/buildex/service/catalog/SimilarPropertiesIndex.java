@@ -0,0 +1,328 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.PropertySummaryDTO;
+import com.buildex.entity.Property;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Precomputed "similar listings" for every verified property.
+ *
+ * Each listing is encoded as a numeric feature vector held in primitive column arrays: log price
+ * (log rent for rentals), log size, bedrooms, bathrooms, location, property type and an amenity
+ * bitmask. Candidates share the listing's purpose and city; within that block listings are
+ * ordered by price and each one is only compared with its {@link #WINDOW} nearest-priced
+ * neighbours on either side, so the cost grows linearly with the catalog rather than
+ * quadratically. The top {@link #MAX_NEIGHBOURS} are computed in parallel on a fork-join pool.
+ *
+ * Catalog changes schedule a recompute a few seconds later (bursts of writes coalesce into one);
+ * until it runs, properties without a precomputed list are answered by scoring their block on demand.
+ */
+@Component
+public class SimilarPropertiesIndex implements CatalogListener {
+
+    public static final int MAX_NEIGHBOURS = 12;
+
+    private static final int WINDOW = 300;
+    private static final int SPLIT_THRESHOLD = 256;
+    private static final long RECOMPUTE_DELAY_MS = 5000;
+
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile CatalogSnapshot latest;
+    private volatile Map<Long, long[]> neighbours = Map.of();
+
+    @Override
+    public void onCatalogLoaded(CatalogSnapshot snapshot) {
+        latest = snapshot;
+        schedule(0);
+    }
+
+    @Override
+    public void onEntryChanged(CatalogSnapshot before, CatalogSnapshot after, CatalogEntry previous,
+            CatalogEntry current) {
+        latest = after;
+        schedule(RECOMPUTE_DELAY_MS);
+    }
+
+    /**
+     * Up to {@code limit} listings most similar to the given one, best first; empty when the
+     * property is not in the snapshot.
+     */
+    public List<PropertySummaryDTO> similar(CatalogSnapshot snapshot, long id, int limit) {
+        CatalogEntry entry = snapshot.get(id);
+        if (entry == null) {
+            return List.of();
+        }
+        long[] ids = neighbours.get(id);
+        if (ids == null) {
+            ids = computeOnDemand(snapshot, entry);
+        }
+        List<PropertySummaryDTO> result = new ArrayList<>(Math.min(limit, ids.length));
+        for (long neighbour : ids) {
+            CatalogEntry match = snapshot.get(neighbour); // Skips listings removed since the last recompute
+            if (match != null && result.size() < limit) {
+                result.add(match.getSummary());
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private void schedule(long delayMs) {
+        if (scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::recompute, delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void recompute() {
+        scheduled.set(false); // Changes from here on schedule another run
+        CatalogSnapshot snapshot = latest;
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Features features = new Features(snapshot.entries());
+            long[][] result = new long[features.size][];
+            pool.invoke(new NeighbourTask(features, result, 0, features.size));
+            Map<Long, long[]> byId = new HashMap<>(features.size * 2);
+            for (int i = 0; i < features.size; i++) {
+                byId.put(features.ids[i], result[i]);
+            }
+            neighbours = byId;
+            System.out.println("Similar properties computed for " + features.size + " properties in "
+                    + (System.currentTimeMillis() - start) + "ms");
+        } catch (RuntimeException e) {
+            System.err.println("Similar properties recompute failed: " + e.getMessage());
+        }
+    }
+
+    // Scores the listing's whole purpose + city block; only used until the next recompute
+    private static long[] computeOnDemand(CatalogSnapshot snapshot, CatalogEntry entry) {
+        List<CatalogEntry> block = new ArrayList<>();
+        block.add(entry);
+        String key = Features.blockKey(entry);
+        for (CatalogEntry other : snapshot.entries()) {
+            if (other.getId() != entry.getId() && key.equals(Features.blockKey(other))) {
+                block.add(other);
+            }
+        }
+        Features features = new Features(block);
+        int self = features.positionOfRow(0);
+        return features.nearest(self, 0, features.size);
+    }
+
+    private static final class NeighbourTask extends RecursiveAction {
+        private final Features features;
+        private final long[][] result;
+        private final int from;
+        private final int to;
+
+        NeighbourTask(Features features, long[][] result, int from, int to) {
+            this.features = features;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int position = from; position < to; position++) {
+                    int lo = Math.max(features.blockStart[position], position - WINDOW);
+                    int hi = Math.min(features.blockEnd[position], position + WINDOW + 1);
+                    result[features.order[position]] = features.nearest(position, lo, hi);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new NeighbourTask(features, result, from, mid), new NeighbourTask(features, result, mid, to));
+        }
+    }
+
+    /**
+     * Column-oriented feature vectors; rows are the input order, positions the block/price order.
+     */
+    private static final class Features {
+        private static final double MISSING = 0.5;
+
+        final int size;
+        final long[] ids;
+        final double[] value; // log price or log rent
+        final double[] sizeSqft; // log area
+        final double[] bedrooms;
+        final double[] bathrooms;
+        final double[] latitude;
+        final double[] longitude;
+        final int[] type;
+        final long[] amenities;
+
+        final int[] order; // position -> row
+        final int[] blockStart; // by position
+        final int[] blockEnd;
+
+        Features(List<CatalogEntry> entries) {
+            size = entries.size();
+            ids = new long[size];
+            value = new double[size];
+            sizeSqft = new double[size];
+            bedrooms = new double[size];
+            bathrooms = new double[size];
+            latitude = new double[size];
+            longitude = new double[size];
+            type = new int[size];
+            amenities = new long[size];
+
+            Map<String, Integer> amenityBits = amenityDictionary(entries);
+            String[] block = new String[size];
+            for (int row = 0; row < size; row++) {
+                CatalogEntry entry = entries.get(row);
+                PropertySummaryDTO summary = entry.getSummary();
+                ids[row] = entry.getId();
+                boolean rental = summary.getPurpose() == Property.Purpose.RENT;
+                BigDecimal amount = rental ? summary.getRentAmount() : summary.getPrice();
+                value[row] = amount != null && amount.signum() > 0 ? Math.log(amount.doubleValue()) : Double.NaN;
+                sizeSqft[row] = summary.getAreaSqft() != null && summary.getAreaSqft() > 0
+                        ? Math.log(summary.getAreaSqft()) : Double.NaN;
+                bedrooms[row] = summary.getBedrooms() != null ? summary.getBedrooms() : Double.NaN;
+                bathrooms[row] = summary.getBathrooms() != null ? summary.getBathrooms() : Double.NaN;
+                latitude[row] = summary.getLatitude() != null ? summary.getLatitude() : Double.NaN;
+                longitude[row] = summary.getLongitude() != null ? summary.getLongitude() : Double.NaN;
+                type[row] = summary.getType() != null ? summary.getType().ordinal() : -1;
+                long mask = 0;
+                for (String amenity : entry.getAmenities()) {
+                    Integer bit = amenityBits.get(CatalogSnapshot.lower(amenity.trim()));
+                    if (bit != null) mask |= 1L << bit;
+                }
+                amenities[row] = mask;
+                block[row] = blockKey(entry);
+            }
+
+            // Group rows by block, then by value (missing values last) within a block
+            Integer[] sorted = new Integer[size];
+            for (int i = 0; i < size; i++) sorted[i] = i;
+            Arrays.sort(sorted, (a, b) -> {
+                int byBlock = block[a].compareTo(block[b]);
+                return byBlock != 0 ? byBlock : Double.compare(nanLast(value[a]), nanLast(value[b]));
+            });
+            order = new int[size];
+            blockStart = new int[size];
+            blockEnd = new int[size];
+            int start = 0;
+            for (int position = 0; position <= size; position++) {
+                if (position == size || (position > 0 && !block[sorted[position]].equals(block[sorted[position - 1]]))) {
+                    for (int p = start; p < position; p++) {
+                        blockStart[p] = start;
+                        blockEnd[p] = position;
+                    }
+                    start = position;
+                }
+                if (position < size) order[position] = sorted[position];
+            }
+        }
+
+        static String blockKey(CatalogEntry entry) {
+            String city = entry.getSummary().getCity();
+            return entry.getSummary().getPurpose() + "|" + (city == null ? "" : CatalogSnapshot.lower(city.trim()));
+        }
+
+        int positionOfRow(int row) {
+            for (int position = 0; position < size; position++) {
+                if (order[position] == row) return position;
+            }
+            return -1;
+        }
+
+        // Ids of the closest listings among positions [lo, hi), best first
+        long[] nearest(int position, int lo, int hi) {
+            int self = order[position];
+            int[] best = new int[MAX_NEIGHBOURS];
+            double[] bestDistance = new double[MAX_NEIGHBOURS];
+            int count = 0;
+            for (int p = lo; p < hi; p++) {
+                int other = order[p];
+                if (other == self) continue;
+                double d = distance(self, other);
+                if (count < MAX_NEIGHBOURS || d < bestDistance[count - 1]) {
+                    // Insertion into the small sorted top list
+                    int at = count < MAX_NEIGHBOURS ? count++ : MAX_NEIGHBOURS - 1;
+                    while (at > 0 && bestDistance[at - 1] > d) {
+                        best[at] = best[at - 1];
+                        bestDistance[at] = bestDistance[at - 1];
+                        at--;
+                    }
+                    best[at] = other;
+                    bestDistance[at] = d;
+                }
+            }
+            long[] result = new long[count];
+            for (int i = 0; i < count; i++) result[i] = ids[best[i]];
+            return result;
+        }
+
+        // Weighted L1 distance; a missing feature on either side costs a fixed penalty
+        private double distance(int a, int b) {
+            double d = 2.0 * diff(value[a], value[b])
+                    + 1.0 * diff(sizeSqft[a], sizeSqft[b])
+                    + 0.5 * diff(bedrooms[a], bedrooms[b])
+                    + 0.3 * diff(bathrooms[a], bathrooms[b]);
+            if (Double.isNaN(latitude[a]) || Double.isNaN(latitude[b]) || Double.isNaN(longitude[a]) || Double.isNaN(longitude[b])) {
+                d += MISSING;
+            } else {
+                d += Math.min(3.0, CatalogSnapshot.distanceKm(latitude[a], longitude[a], latitude[b], longitude[b]) / 5);
+            }
+            if (type[a] != type[b]) d += 1.5;
+            long union = amenities[a] | amenities[b];
+            if (union != 0) {
+                d += 1.0 - (double) Long.bitCount(amenities[a] & amenities[b]) / Long.bitCount(union);
+            }
+            return d;
+        }
+
+        private static double diff(double a, double b) {
+            return Double.isNaN(a) || Double.isNaN(b) ? MISSING : Math.abs(a - b);
+        }
+
+        private static double nanLast(double v) {
+            return Double.isNaN(v) ? Double.POSITIVE_INFINITY : v;
+        }
+
+        // The 64 most common amenities get a bit each
+        private static Map<String, Integer> amenityDictionary(List<CatalogEntry> entries) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (CatalogEntry entry : entries) {
+                for (String amenity : entry.getAmenities()) {
+                    counts.merge(CatalogSnapshot.lower(amenity.trim()), 1, Integer::sum);
+                }
+            }
+            List<Map.Entry<String, Integer>> common = new ArrayList<>(counts.entrySet());
+            common.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+            Map<String, Integer> bits = new HashMap<>();
+            for (int i = 0; i < Math.min(Long.SIZE, common.size()); i++) {
+                bits.put(common.get(i).getKey(), i);
+            }
+            return bits;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.SuggestionDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Typeahead over city, area, builder and title values of the catalog, weighted by listing count.
+ *
+ * Every value is indexed under its lowercased text and under each later word ("heights" finds
+ * "Sunrise Heights"). Keys are kept in one sorted array, so a prefix is a contiguous range; an
+ * argmax segment tree over the weights then yields the best {@code limit} terms of that range in
+ * O(limit log n) however many keys share the prefix.
+ *
+ * Listing counts are updated on every catalog change; the sorted dictionary is rebuilt from them
+ * on the first lookup after a change, while concurrent lookups keep using the previous one.
+ */
+@Component
+public class SuggestionIndex implements CatalogListener {
+
+    public static final int MAX_LIMIT = 20;
+
+    private enum Kind {
+        CITY("city"), AREA("area"), BUILDER("builder"), TITLE("title");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+    }
+
+    // Counts per term; guarded by `this`
+    private final Map<TermKey, Term> terms = new HashMap<>();
+    private volatile boolean stale = true;
+
+    private final ReentrantLock rebuild = new ReentrantLock();
+    private volatile Dictionary dictionary; // null until first built
+
+    @Override
+    public synchronized void onCatalogLoaded(CatalogSnapshot snapshot) {
+        terms.clear();
+        for (CatalogEntry entry : snapshot.entries()) {
+            count(entry, 1);
+        }
+        stale = true;
+    }
+
+    @Override
+    public synchronized void onEntryChanged(CatalogSnapshot before, CatalogSnapshot after, CatalogEntry previous,
+            CatalogEntry current) {
+        if (previous != null) {
+            count(previous, -1);
+        }
+        if (current != null) {
+            count(current, 1);
+        }
+        stale = true;
+    }
+
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        String prefix = CatalogSnapshot.lower(query == null ? "" : query.trim());
+        if (prefix.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        return current().top(prefix, Math.min(limit, MAX_LIMIT));
+    }
+
+    private Dictionary current() {
+        Dictionary current = dictionary;
+        // Only the very first build makes lookups wait; later ones are done by whoever gets the lock
+        if (stale && (current == null ? lock() : rebuild.tryLock())) {
+            try {
+                List<Term> counts;
+                synchronized (this) {
+                    if (!stale) {
+                        return dictionary != null ? dictionary : Dictionary.EMPTY;
+                    }
+                    counts = new ArrayList<>(terms.values());
+                    stale = false;
+                }
+                current = Dictionary.build(counts);
+                dictionary = current;
+            } finally {
+                rebuild.unlock();
+            }
+        }
+        return current != null ? current : Dictionary.EMPTY;
+    }
+
+    private boolean lock() {
+        rebuild.lock();
+        return true;
+    }
+
+    private void count(CatalogEntry entry, int delta) {
+        add(Kind.CITY, entry.getSummary().getCity(), delta);
+        add(Kind.AREA, entry.getSummary().getArea(), delta);
+        add(Kind.BUILDER, entry.getBuilderCompanyName() != null && !entry.getBuilderCompanyName().isBlank()
+                ? entry.getBuilderCompanyName()
+                : entry.getBuilderFullName(), delta);
+        add(Kind.TITLE, entry.getSummary().getTitle(), delta);
+    }
+
+    private void add(Kind kind, String value, int delta) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        String text = value.trim();
+        TermKey key = new TermKey(kind, CatalogSnapshot.lower(text));
+        Term term = terms.get(key);
+        long count = (term == null ? 0 : term.count) + delta;
+        if (count <= 0) {
+            terms.remove(key);
+        } else {
+            // Terms are immutable so a dictionary built from a copy of the map never sees later counts
+            terms.put(key, new Term(kind, term == null ? text : term.text, key.text, count));
+        }
+    }
+
+    private record TermKey(Kind kind, String text) {
+    }
+
+    private static final class Term {
+        private final Kind kind;
+        private final String text;
+        private final String lowerText;
+        private final long count;
+
+        Term(Kind kind, String text, String lowerText, long count) {
+            this.kind = kind;
+            this.text = text;
+            this.lowerText = lowerText;
+            this.count = count;
+        }
+
+        // More listings first; on equal counts cities before areas before builders before titles
+        long score() {
+            return count * Kind.values().length + (Kind.values().length - 1 - kind.ordinal());
+        }
+    }
+
+    private static final class Dictionary {
+        static final Dictionary EMPTY = new Dictionary(new String[0], new Term[0]);
+
+        private final String[] keys; // sorted
+        private final Term[] termOfKey;
+        private final int[] tree; // argmax segment tree over termOfKey scores, leaves at [n, 2n)
+
+        private Dictionary(String[] keys, Term[] termOfKey) {
+            this.keys = keys;
+            this.termOfKey = termOfKey;
+            int n = keys.length;
+            this.tree = new int[2 * n];
+            for (int i = 0; i < n; i++) {
+                tree[n + i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+            }
+        }
+
+        static Dictionary build(Iterable<Term> terms) {
+            List<Object[]> pairs = new ArrayList<>();
+            for (Term term : terms) {
+                String text = term.lowerText;
+                for (int i = 0; i < text.length(); i++) {
+                    if (i == 0 || (!Character.isLetterOrDigit(text.charAt(i - 1)) && Character.isLetterOrDigit(text.charAt(i)))) {
+                        pairs.add(new Object[] {text.substring(i), term});
+                    }
+                }
+            }
+            pairs.sort((a, b) -> ((String) a[0]).compareTo((String) b[0]));
+            String[] keys = new String[pairs.size()];
+            Term[] owners = new Term[pairs.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = (String) pairs.get(i)[0];
+                owners[i] = (Term) pairs.get(i)[1];
+            }
+            return new Dictionary(keys, owners);
+        }
+
+        List<SuggestionDTO> top(String prefix, int limit) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + Character.MAX_VALUE);
+            List<SuggestionDTO> result = new ArrayList<>(limit);
+            if (from >= to) {
+                return result;
+            }
+            // Best-first over sub-ranges: pop the range whose maximum is highest, emit it, split around it
+            PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                    (a, b) -> Long.compare(termOfKey[b[2]].score(), termOfKey[a[2]].score()));
+            ranges.add(new int[] {from, to, argmax(from, to)});
+            Set<Term> seen = new HashSet<>();
+            while (!ranges.isEmpty() && result.size() < limit) {
+                int[] range = ranges.poll();
+                int best = range[2];
+                Term term = termOfKey[best];
+                if (seen.add(term)) { // A term reached through two of its words is listed once
+                    result.add(SuggestionDTO.builder()
+                            .text(term.text)
+                            .type(term.kind.label)
+                            .count(term.count)
+                            .build());
+                }
+                if (range[0] < best) ranges.add(new int[] {range[0], best, argmax(range[0], best)});
+                if (best + 1 < range[1]) ranges.add(new int[] {best + 1, range[1], argmax(best + 1, range[1])});
+            }
+            return result;
+        }
+
+        // Index of the best-scoring key in [from, to)
+        private int argmax(int from, int to) {
+            int n = keys.length;
+            int best = -1;
+            for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) best = better(best, tree[l++]);
+                if ((r & 1) == 1) best = better(best, tree[--r]);
+            }
+            return best;
+        }
+
+        private int better(int a, int b) {
+            if (a < 0) return b;
+            if (b < 0) return a;
+            int order = Long.compare(termOfKey[a].score(), termOfKey[b].score());
+            return order != 0 ? (order > 0 ? a : b) : Math.min(a, b); // Ties: alphabetical key first
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
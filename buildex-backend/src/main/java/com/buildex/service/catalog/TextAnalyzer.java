@@ -0,0 +1,46 @@
+package com.buildex.service.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits listing text and queries into index terms for relevance search: lowercased runs of
+ * letters or of digits, so "3BHK" and "3 bhk" both give [3, bhk] and "sea-facing" gives [sea, facing].
+ * A few very common English words are dropped.
+ */
+final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "the", "this", "to", "with");
+
+    private TextAnalyzer() {
+    }
+
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean boundary = start >= 0
+                    && (!Character.isLetterOrDigit(c) || Character.isDigit(c) != Character.isDigit(lower.charAt(start)));
+            if (boundary) {
+                String term = lower.substring(start, i);
+                if (!STOP_WORDS.contains(term)) {
+                    terms.add(term);
+                }
+                start = -1;
+            }
+            if (start < 0 && Character.isLetterOrDigit(c)) {
+                start = i;
+            }
+        }
+        return terms;
+    }
+}
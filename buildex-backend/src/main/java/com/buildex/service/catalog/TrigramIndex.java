@@ -0,0 +1,120 @@
+package com.buildex.service.catalog;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable trigram inverted index over the fields matched by the free-text {@code search} filter
+ * (title, city, area, builder company name and builder full name).
+ *
+ * Any property containing a needle of three or more characters must contain every trigram of
+ * that needle, so intersecting their posting lists yields a small candidate set that is then
+ * verified with a plain substring check. Shorter needles cannot use the index.
+ */
+final class TrigramIndex {
+
+    static final int GRAM = 3;
+
+    static final TrigramIndex EMPTY = new TrigramIndex(new HashMap<>());
+
+    private final Map<Long, PostingList> postings;
+
+    private TrigramIndex(Map<Long, PostingList> postings) {
+        this.postings = postings;
+    }
+
+    static TrigramIndex build(CatalogEntry[] entries) {
+        Map<Long, IdBuffer> buffers = new HashMap<>();
+        for (CatalogEntry entry : entries) {
+            for (Long gram : grams(entry)) {
+                buffers.computeIfAbsent(gram, g -> new IdBuffer()).add(entry.getId());
+            }
+        }
+        Map<Long, PostingList> postings = new HashMap<>(buffers.size() * 2);
+        buffers.forEach((gram, buffer) -> {
+            Arrays.sort(buffer.ids, 0, buffer.count);
+            postings.put(gram, PostingList.of(buffer.ids, buffer.count));
+        });
+        return new TrigramIndex(postings);
+    }
+
+    /**
+     * Returns a copy reflecting one property changing from {@code previous} to {@code next}.
+     * Either side may be null (insert / delete). Only the affected posting lists are rebuilt;
+     * all others are shared with this index.
+     */
+    TrigramIndex with(CatalogEntry previous, CatalogEntry next) {
+        Set<Long> before = previous != null ? grams(previous) : Set.of();
+        Set<Long> after = next != null ? grams(next) : Set.of();
+        if (before.equals(after)) {
+            return this;
+        }
+        long id = next != null ? next.getId() : previous.getId();
+        Map<Long, PostingList> copy = new HashMap<>(postings);
+        for (Long gram : before) {
+            if (!after.contains(gram)) {
+                PostingList list = copy.getOrDefault(gram, PostingList.EMPTY).with(id, false);
+                if (list.size() == 0) {
+                    copy.remove(gram);
+                } else {
+                    copy.put(gram, list);
+                }
+            }
+        }
+        for (Long gram : after) {
+            if (!before.contains(gram)) {
+                copy.put(gram, copy.getOrDefault(gram, PostingList.EMPTY).with(id, true));
+            }
+        }
+        return new TrigramIndex(copy);
+    }
+
+    /**
+     * Returns the sorted ids of properties that may contain {@code needle} (already lowercased,
+     * at least {@link #GRAM} characters long).
+     */
+    long[] candidates(String needle) {
+        Set<Long> grams = new HashSet<>();
+        addGrams(needle, grams);
+        PostingList[] lists = new PostingList[grams.size()];
+        int i = 0;
+        for (Long gram : grams) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists[i++] = list;
+        }
+        // Start from the rarest trigram so every later intersection touches as few ids as possible
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        long[] ids = lists[0].toArray();
+        int count = ids.length;
+        for (int j = 1; j < lists.length && count > 0; j++) {
+            count = lists[j].retainAll(ids, count);
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private static Set<Long> grams(CatalogEntry entry) {
+        Set<Long> grams = new HashSet<>();
+        addGrams(CatalogSnapshot.lower(entry.getSummary().getTitle()), grams);
+        addGrams(CatalogSnapshot.lower(entry.getSummary().getCity()), grams);
+        addGrams(CatalogSnapshot.lower(entry.getSummary().getArea()), grams);
+        addGrams(CatalogSnapshot.lower(entry.getBuilderCompanyName()), grams);
+        addGrams(CatalogSnapshot.lower(entry.getBuilderFullName()), grams);
+        return grams;
+    }
+
+    // Grams never span two fields, matching the per-field LIKE of the JPQL query
+    private static void addGrams(String text, Set<Long> grams) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+}
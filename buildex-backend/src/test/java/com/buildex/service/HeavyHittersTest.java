@@ -0,0 +1,103 @@
+package com.buildex.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeavyHittersTest {
+
+    private final Random random = new Random(17);
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new HeavyHitters<String>(0));
+    }
+
+    @Test
+    void countsStayWithinTheirErrorOfExactCounts() {
+        for (int capacity : new int[]{1, 10, 50}) {
+            HeavyHitters<Integer> hitters = new HeavyHitters<>(capacity);
+            Map<Integer, Long> exact = new HashMap<>();
+            Map<Integer, Long> exactFlagged = new HashMap<>();
+            long total = 0;
+            for (int i = 0; i < 50_000; i++) {
+                // Zipf-like skew: a few keys are hot, with a long tail of rare ones
+                int key = (int) Math.floor(Math.pow(2_000, random.nextDouble()));
+                boolean flagged = random.nextInt(3) == 0;
+                hitters.add(key, flagged);
+                exact.merge(key, 1L, Long::sum);
+                if (flagged) exactFlagged.merge(key, 1L, Long::sum);
+                total++;
+
+                if (i % 5_000 == 4_999) {
+                    assertGuarantees(hitters, capacity, exact, exactFlagged, total);
+                }
+            }
+        }
+    }
+
+    @Test
+    void topIsOrderedAndLimited() {
+        HeavyHitters<String> hitters = new HeavyHitters<>(10);
+        for (int i = 0; i < 5_000; i++) {
+            hitters.add("k" + random.nextInt(30), false);
+        }
+        List<HeavyHitters.Entry<String>> top = hitters.top(4);
+
+        assertEquals(4, top.size());
+        for (int i = 1; i < top.size(); i++) {
+            assertTrue(top.get(i - 1).count() >= top.get(i).count());
+        }
+        assertEquals(10, hitters.top(100).size());
+    }
+
+    @Test
+    void decayHalvesCountsAndDropsKeysThatReachZero() {
+        HeavyHitters<String> hitters = new HeavyHitters<>(5);
+        for (int i = 0; i < 7; i++) hitters.add("hot", i % 2 == 0);
+        for (int i = 0; i < 2; i++) hitters.add("warm", false);
+        hitters.add("cold", true);
+
+        hitters.decay();
+
+        assertEquals(List.of(new HeavyHitters.Entry<>("hot", 3, 0, 2), new HeavyHitters.Entry<>("warm", 1, 0, 0)),
+                hitters.top(5));
+        assertEquals(2, hitters.size());
+    }
+
+    private static void assertGuarantees(HeavyHitters<Integer> hitters, int capacity, Map<Integer, Long> exact,
+            Map<Integer, Long> exactFlagged, long total) {
+        List<HeavyHitters.Entry<Integer>> tracked = hitters.top(Integer.MAX_VALUE);
+        assertEquals(Math.min(capacity, exact.size()), hitters.size());
+        assertEquals(hitters.size(), tracked.size());
+
+        long sum = 0;
+        Map<Integer, HeavyHitters.Entry<Integer>> byKey = new HashMap<>();
+        for (HeavyHitters.Entry<Integer> entry : tracked) {
+            long count = exact.get(entry.key());
+            // Never under, and over by at most the recorded error, which is bounded by total / capacity
+            assertTrue(entry.count() >= count, entry.toString());
+            assertTrue(entry.count() - entry.error() <= count, entry.toString());
+            assertTrue(entry.error() <= total / capacity, entry.toString());
+            assertTrue(entry.flagged() <= entry.count() - entry.error(), entry.toString());
+            assertTrue(entry.flagged() <= exactFlagged.getOrDefault(entry.key(), 0L), entry.toString());
+            sum += entry.count();
+            byKey.put(entry.key(), entry);
+        }
+        // Every occurrence is counted by exactly one slot
+        assertEquals(total, sum);
+
+        exact.forEach((key, count) -> {
+            if (count > total / capacity) {
+                assertTrue(byKey.containsKey(key), "key " + key + " seen " + count + " of " + total + " times");
+            }
+        });
+    }
+}
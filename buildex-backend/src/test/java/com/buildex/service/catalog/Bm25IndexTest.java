@@ -0,0 +1,180 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.PropertySummaryDTO;
+import com.buildex.entity.Property;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Bm25IndexTest {
+
+    private static final String[] WORDS = {
+            "sea", "facing", "3bhk", "villa", "garden", "pool", "gym", "metro", "quiet", "corner",
+            "spacious", "parking", "lift", "school", "park", "terrace", "the", "and"};
+    private static final String[] CITIES = {"Pune", "Navi Mumbai", "Thane", null};
+
+    private final Random random = new Random(3);
+
+    @Test
+    void ranksFullBuildLikeBruteForceBm25() {
+        Map<Long, Listing> listings = new LinkedHashMap<>();
+        for (long id = 1; id <= 300; id++) {
+            listings.put(id, randomListing(id));
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(entries(listings), 1);
+
+        for (int query = 0; query < 100; query++) {
+            assertRanking(snapshot, listings, randomQuery(), randomCity());
+        }
+    }
+
+    @Test
+    void ranksIncrementalSnapshotsLikeBruteForceBm25() {
+        Map<Long, Listing> listings = new LinkedHashMap<>();
+        for (long id = 1; id <= 100; id++) {
+            listings.put(id, randomListing(id));
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(entries(listings), 1);
+
+        for (int step = 0; step < 400; step++) {
+            long id = 1 + random.nextInt(150);
+            if (random.nextInt(4) == 0) {
+                snapshot = snapshot.without(id);
+                listings.remove(id);
+            } else {
+                // Inserts, and updates whose terms, frequencies and length all change
+                Listing listing = randomListing(id);
+                snapshot = snapshot.withEntry(listing.entry);
+                listings.put(id, listing);
+            }
+            assertRanking(snapshot, listings, randomQuery(), null);
+        }
+    }
+
+    // Every listing with a positive score, best first and newest first among equal scores.
+    // A query of stop words only has nothing to rank by and is a newest-first substring search
+    private static void assertRanking(CatalogSnapshot snapshot, Map<Long, Listing> listings, String query, String city) {
+        List<String> keywords = TextAnalyzer.terms(query);
+        Map<Long, Double> scores = bruteForceScores(listings, keywords);
+        List<CatalogEntry> expected = new ArrayList<>();
+        for (Listing listing : listings.values()) {
+            boolean found = keywords.isEmpty()
+                    ? listing.entry.matches(null, null, city, null, null, query)
+                    : scores.containsKey(listing.entry.getId()) && listing.entry.matches(null, null, city, null, null, null);
+            if (found) {
+                expected.add(listing.entry);
+            }
+        }
+        expected.sort(Comparator.<CatalogEntry>comparingDouble(entry -> -scores.getOrDefault(entry.getId(), 0.0))
+                .thenComparing(CatalogSnapshot.NEWEST_FIRST));
+
+        Page<PropertySummaryDTO> page = snapshot.search(null, null, city, null, null, query,
+                RangeFilter.NONE, CatalogSort.RELEVANCE, 0, 1_000);
+
+        assertEquals(expected.size(), page.getTotalElements(), query);
+        assertEquals(expected.stream().map(CatalogEntry::getId).toList(),
+                page.getContent().stream().map(PropertySummaryDTO::getId).toList(), query);
+    }
+
+    // Textbook BM25 over the listings' weighted term counts, summed in query term order like the index
+    private static Map<Long, Double> bruteForceScores(Map<Long, Listing> listings, List<String> keywords) {
+        int documents = listings.size();
+        long totalLength = 0;
+        for (Listing listing : listings.values()) {
+            totalLength += listing.length;
+        }
+        double averageLength = documents == 0 ? 1 : Math.max(1, (double) totalLength / documents);
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(keywords)) {
+            double df = 0;
+            for (Listing listing : listings.values()) {
+                if (listing.counts.containsKey(term)) df++;
+            }
+            double idf = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+            for (Listing listing : listings.values()) {
+                Integer count = listing.counts.get(term);
+                if (count == null) {
+                    continue;
+                }
+                double tf = count;
+                double norm = 1 - Bm25Index.B + Bm25Index.B * listing.length / averageLength;
+                scores.merge(listing.entry.getId(), idf * tf * (Bm25Index.K1 + 1) / (tf + Bm25Index.K1 * norm), Double::sum);
+            }
+        }
+        return scores;
+    }
+
+    private Listing randomListing(long id) {
+        String title = words(1 + random.nextInt(4));
+        String city = randomCity();
+        String description = random.nextInt(4) == 0 ? null : words(random.nextInt(15));
+        List<String> amenities = new ArrayList<>();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            amenities.add(WORDS[random.nextInt(WORDS.length)]);
+        }
+        PropertySummaryDTO summary = PropertySummaryDTO.builder()
+                .id(id)
+                .title(title)
+                .city(city)
+                .purpose(Property.Purpose.BUY)
+                .build();
+        CatalogEntry entry = new CatalogEntry(summary, random.nextInt(50), null, null, description, amenities);
+
+        // Field weights as documented on CatalogEntry: title 3, location and amenities 2, description 1
+        Listing listing = new Listing(entry);
+        listing.count(title, 3);
+        listing.count(city, 2);
+        listing.count(description, 1);
+        amenities.forEach(amenity -> listing.count(amenity, 2));
+        return listing;
+    }
+
+    private String randomQuery() {
+        String query = words(1 + random.nextInt(3));
+        return random.nextBoolean() ? query.toUpperCase() : query;
+    }
+
+    private String randomCity() {
+        return CITIES[random.nextInt(CITIES.length)];
+    }
+
+    private String words(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : random.nextBoolean() ? " " : ", ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static List<CatalogEntry> entries(Map<Long, Listing> listings) {
+        return listings.values().stream().map(listing -> listing.entry).toList();
+    }
+
+    private static final class Listing {
+        final CatalogEntry entry;
+        final Map<String, Integer> counts = new HashMap<>();
+        int length;
+
+        Listing(CatalogEntry entry) {
+            this.entry = entry;
+        }
+
+        void count(String text, int weight) {
+            for (String term : TextAnalyzer.terms(text)) {
+                counts.merge(term, weight, Integer::sum);
+                length += weight;
+            }
+        }
+    }
+}
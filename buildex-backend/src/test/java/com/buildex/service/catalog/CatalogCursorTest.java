@@ -0,0 +1,118 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.CursorPageDTO;
+import com.buildex.dto.PropertySummaryDTO;
+import com.buildex.entity.Property;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CatalogCursorTest {
+
+    private static final String[] CITIES = {"Pune", "Mumbai", "Thane", null};
+
+    private final Random random = new Random(5);
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        for (int i = 0; i < 1_000; i++) {
+            CatalogEntry entry = entry(random.nextLong(), random.nextLong() >>> 1);
+            CatalogCursor cursor = CatalogCursor.decode(CatalogCursor.of(entry).encode());
+
+            assertEquals(0, cursor.compareTo(entry));
+        }
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> CatalogCursor.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogCursor.decode("MTIz"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogCursor.decode("YTpi"));
+    }
+
+    @Test
+    void comparesLikeNewestFirstOrder() {
+        for (int i = 0; i < 5_000; i++) {
+            // Few distinct timestamps, so the id tie-break is exercised too
+            CatalogEntry position = entry(random.nextInt(20), random.nextInt(5));
+            CatalogEntry other = entry(random.nextInt(20), random.nextInt(5));
+            int expected = Integer.signum(CatalogSnapshot.NEWEST_FIRST.compare(position, other));
+
+            assertEquals(expected, Integer.signum(CatalogCursor.of(position).compareTo(other)));
+        }
+    }
+
+    @Test
+    void pagingThroughSearchAfterVisitsEveryMatchOnce() {
+        List<CatalogEntry> entries = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            entries.add(entry(id, random.nextInt(100)));
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(entries, 1);
+        List<CatalogEntry> ordered = new ArrayList<>(entries);
+        ordered.sort(CatalogSnapshot.NEWEST_FIRST);
+
+        for (String city : CITIES) {
+            List<Long> expected = new ArrayList<>();
+            for (CatalogEntry entry : ordered) {
+                if (entry.matches(null, null, city, null, null, null)) {
+                    expected.add(entry.getId());
+                }
+            }
+            for (int size : new int[]{1, 7, 50, 1_000}) {
+                List<Long> visited = new ArrayList<>();
+                CatalogCursor cursor = null;
+                CursorPageDTO<PropertySummaryDTO> page;
+                do {
+                    page = snapshot.searchAfter(null, null, city, null, null, null, cursor, size, true);
+                    page.getContent().forEach(summary -> visited.add(summary.getId()));
+                    assertEquals((long) expected.size(), page.getTotalElements());
+                    cursor = page.isHasNext() ? CatalogCursor.decode(page.getNextCursor()) : null;
+                } while (cursor != null);
+
+                assertNull(page.getNextCursor());
+                assertEquals(expected, visited, "city " + city + ", size " + size);
+            }
+        }
+    }
+
+    @Test
+    void cursorSurvivesRemovalOfItsRow() {
+        List<CatalogEntry> entries = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            entries.add(entry(id, id / 3));
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.of(entries, 1);
+        CursorPageDTO<PropertySummaryDTO> first = snapshot.searchAfter(null, null, null, null, null, null, null, 10, false);
+        long lastSeen = first.getContent().get(9).getId();
+
+        CatalogSnapshot changed = snapshot.without(lastSeen);
+        CursorPageDTO<PropertySummaryDTO> rest = changed.searchAfter(null, null, null, null, null, null,
+                CatalogCursor.decode(first.getNextCursor()), 100, false);
+
+        List<Long> expected = new ArrayList<>();
+        snapshot.page(0, 100).getContent().subList(10, 30).forEach(summary -> expected.add(summary.getId()));
+        List<Long> actual = new ArrayList<>();
+        rest.getContent().forEach(summary -> actual.add(summary.getId()));
+        assertEquals(expected, actual);
+        assertFalse(rest.isHasNext());
+        assertNull(rest.getTotalElements());
+    }
+
+    private CatalogEntry entry(long id, long createdAt) {
+        PropertySummaryDTO summary = PropertySummaryDTO.builder()
+                .id(id)
+                .title("Listing " + id)
+                .city(CITIES[random.nextInt(CITIES.length)])
+                .purpose(Property.Purpose.BUY)
+                .build();
+        return new CatalogEntry(summary, createdAt, null, null);
+    }
+}
@@ -0,0 +1,105 @@
+package com.buildex.service.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PostingListTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void roundTripsIdsOfEveryGapWidth() {
+        for (int round = 0; round < 200; round++) {
+            TreeSet<Long> expected = randomIds(random.nextInt(50), maxGap(round));
+            PostingList list = PostingList.of(toArray(expected), expected.size());
+
+            assertEquals(expected.size(), list.size());
+            assertArrayEquals(toArray(expected), list.toArray());
+        }
+    }
+
+    @Test
+    void roundTripsLargeIds() {
+        long[] ids = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE - 1, Long.MAX_VALUE};
+
+        assertArrayEquals(ids, PostingList.of(ids, ids.length).toArray());
+    }
+
+    @Test
+    void emptyListIsShared() {
+        assertSame(PostingList.EMPTY, PostingList.of(new long[0], 0));
+        assertEquals(0, PostingList.EMPTY.toArray().length);
+    }
+
+    @Test
+    void withAddsAndRemovesLikeATreeSet() {
+        TreeSet<Long> expected = new TreeSet<>();
+        PostingList list = PostingList.EMPTY;
+        for (int step = 0; step < 2_000; step++) {
+            long id = random.nextInt(300);
+            boolean present = random.nextBoolean();
+            PostingList next = list.with(id, present);
+            boolean changed = present ? expected.add(id) : expected.remove(id);
+
+            if (!changed) {
+                assertSame(list, next);
+            }
+            list = next;
+            assertEquals(expected.size(), list.size());
+            assertArrayEquals(toArray(expected), list.toArray());
+        }
+    }
+
+    @Test
+    void retainAllMatchesTreeSetIntersection() {
+        for (int round = 0; round < 500; round++) {
+            long gap = maxGap(round);
+            TreeSet<Long> postings = randomIds(random.nextInt(60), gap);
+            TreeSet<Long> candidates = randomIds(random.nextInt(60), gap);
+            candidates.addAll(postings.headSet(random.nextLong(gap * 60 + 1)));
+            PostingList list = PostingList.of(toArray(postings), postings.size());
+
+            long[] ids = Arrays.copyOf(toArray(candidates), candidates.size() + 5);
+            int kept = list.retainAll(ids, candidates.size());
+
+            TreeSet<Long> expected = new TreeSet<>(candidates);
+            expected.retainAll(postings);
+            assertArrayEquals(toArray(expected), Arrays.copyOf(ids, kept));
+        }
+    }
+
+    @Test
+    void retainAllOnlyLooksAtTheFirstCountIds() {
+        PostingList list = PostingList.of(new long[]{1, 2, 3, 4}, 4);
+        long[] ids = {2, 3, 4};
+
+        assertEquals(1, list.retainAll(ids, 1));
+        assertEquals(2, ids[0]);
+    }
+
+    private long maxGap(int round) {
+        // Cycle through gaps that encode in one, two and several varint bytes
+        return new long[]{3, 200, 40_000, 1L << 40}[round % 4];
+    }
+
+    private TreeSet<Long> randomIds(int count, long maxGap) {
+        TreeSet<Long> ids = new TreeSet<>();
+        long id = 0;
+        for (int i = 0; i < count; i++) {
+            id += 1 + (long) (random.nextDouble() * maxGap);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private static long[] toArray(TreeSet<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
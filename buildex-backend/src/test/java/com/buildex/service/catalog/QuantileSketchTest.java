@@ -0,0 +1,150 @@
+package com.buildex.service.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantileSketchTest {
+
+    // The sketch promises about 1-2% rank error; compaction is randomised, so leave some slack
+    private static final double RANK_ERROR = 0.03;
+
+    private static final double[] QUANTILES = {0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99};
+
+    private final Random random = new Random(7);
+
+    @Test
+    void emptySketchHasNoQuantiles() {
+        QuantileSketch sketch = new QuantileSketch();
+
+        assertEquals(0, sketch.count());
+        assertTrue(Double.isNaN(sketch.quantile(0.5)));
+        assertEquals(0, sketch.countsBelow(new double[]{1, 2})[1]);
+    }
+
+    @Test
+    void quantilesOfRandomValuesStayWithinTheRankError() {
+        double[] values = new double[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian() * 1_000 + 5_000;
+        }
+        assertQuantiles(values, sketchOf(values));
+    }
+
+    @Test
+    void quantilesOfSortedValuesStayWithinTheRankError() {
+        double[] values = new double[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        assertQuantiles(values, sketchOf(values));
+    }
+
+    @Test
+    void quantilesOfRepeatedValuesStayWithinTheRankError() {
+        double[] values = new double[50_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(12) * 250_000;
+        }
+        assertQuantiles(values, sketchOf(values));
+    }
+
+    @Test
+    void tracksCountAndExtremesExactly() {
+        double[] values = new double[20_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 1e6 - 5e5;
+        }
+        QuantileSketch sketch = sketchOf(values);
+        sketch.add(Double.NaN);
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+
+        assertEquals(values.length, sketch.count());
+        assertEquals(sorted[0], sketch.min());
+        assertEquals(sorted[sorted.length - 1], sketch.max());
+        assertEquals(sorted[0], sketch.quantile(0));
+        assertEquals(sorted[sorted.length - 1], sketch.quantile(1));
+    }
+
+    @Test
+    void countsBelowStayWithinTheRankError() {
+        double[] values = new double[80_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextDouble() * 10);
+        }
+        double[] bounds = {1, 2, 10, 50, 100, 500, 1_000, 5_000, 10_000, 30_000};
+        long[] counts = sketchOf(values).countsBelow(bounds);
+
+        for (int b = 0; b < bounds.length; b++) {
+            long exact = 0;
+            for (double value : values) {
+                if (value < bounds[b]) exact++;
+            }
+            assertEquals(exact, counts[b], RANK_ERROR * values.length, "below " + bounds[b]);
+        }
+    }
+
+    @Test
+    void mergedSketchesMatchTheCombinedStream() {
+        double[] values = new double[60_000];
+        QuantileSketch merged = new QuantileSketch();
+        QuantileSketch part = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            // Parts of different sizes and ranges, so levels of every height get merged
+            values[i] = random.nextDouble() * (1 + i / 10_000);
+            part.add(values[i]);
+            if (random.nextInt(3_000) == 0 || i == values.length - 1) {
+                merged.merge(part);
+                part = new QuantileSketch();
+            }
+        }
+        merged.merge(new QuantileSketch());
+
+        assertEquals(values.length, merged.count());
+        assertQuantiles(values, merged);
+    }
+
+    private static QuantileSketch sketchOf(double[] values) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double value : values) {
+            sketch.add(value);
+        }
+        return sketch;
+    }
+
+    // The estimate for q must have a true rank range overlapping [q - error, q + error]
+    private static void assertQuantiles(double[] values, QuantileSketch sketch) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            double estimate = sketch.quantile(q);
+            double below = (double) lowerBound(sorted, estimate) / sorted.length;
+            double atOrBelow = (double) upperBound(sorted, estimate) / sorted.length;
+            assertTrue(below <= q + RANK_ERROR && atOrBelow >= q - RANK_ERROR,
+                    "q=" + q + " estimate=" + estimate + " rank=[" + below + ", " + atOrBelow + "]");
+        }
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+
+    private static int upperBound(double[] sorted, double value) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) low = mid + 1; else high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,121 @@
+package com.buildex.service.catalog;
+
+import com.buildex.dto.PropertySummaryDTO;
+import com.buildex.entity.Property;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SavedSearchIndexTest {
+
+    // Few, overlapping words so that needles hit often and buckets collide
+    private static final String[] WORDS = {
+            "Pune", "Punawale", "Mumbai", "Thane", "Baner", "Aundh", "Wakad", "Hinjewadi",
+            "Sea View", "Green Acres", "Lodha", "Godrej", "Raj Patil", "Anita Rao", "Skyline"};
+
+    private final Random random = new Random(11);
+
+    @Test
+    void matchesTheSameSearchesAsALinearScan() {
+        SavedSearchIndex index = new SavedSearchIndex();
+        Map<Long, SearchCriteria> saved = new HashMap<>();
+        int matched = 0;
+        for (int step = 0; step < 5_000; step++) {
+            long id = random.nextInt(400);
+            if (random.nextInt(5) == 0) {
+                index.remove(id);
+                saved.remove(id);
+            } else {
+                // Re-putting an id replaces its search, possibly under a different anchor
+                SearchCriteria search = randomCriteria();
+                index.put(id, search);
+                saved.put(id, search);
+            }
+            assertEquals(saved.size(), index.size());
+
+            if (step % 10 == 0) {
+                CatalogEntry entry = randomEntry(step);
+                List<Long> expected = new ArrayList<>();
+                saved.forEach((savedId, search) -> {
+                    if (search.matches(entry)) {
+                        expected.add(savedId);
+                    }
+                });
+                List<Long> actual = new ArrayList<>(index.matching(entry));
+                expected.sort(null);
+                actual.sort(null);
+                assertEquals(expected, actual, "step " + step);
+                matched += expected.size();
+            }
+        }
+        // Guards against a generator so selective that both sides are always empty
+        assertTrue(matched > 1_000, "only " + matched + " matches");
+    }
+
+    @Test
+    void searchesWithoutTextOrEnumFiltersAreAlwaysChecked() {
+        SavedSearchIndex index = new SavedSearchIndex();
+        index.put(1, SearchCriteria.of(null, null, null, null, "", null, null));
+        index.put(2, SearchCriteria.of(null, null, null, null, null, null,
+                RangeFilter.of(null, null, null, null, null, null, 2, null)));
+
+        CatalogEntry entry = randomEntry(0);
+        List<Long> matching = index.matching(entry);
+
+        assertTrue(matching.contains(1L));
+        assertEquals(entry.getSummary().getBedrooms() >= 2, matching.contains(2L));
+    }
+
+    private SearchCriteria randomCriteria() {
+        RangeFilter ranges = random.nextInt(4) == 0
+                ? RangeFilter.of(null, null, null, null, null, null, random.nextInt(4), null)
+                : null;
+        return SearchCriteria.of(
+                pick(Property.Purpose.values()),
+                pick(Property.PropertyType.values()),
+                pick(Property.AvailabilityStatus.values()),
+                random.nextInt(3) == 0 ? needle() : null,
+                random.nextInt(4) == 0 ? needle() : null,
+                random.nextInt(2) == 0 ? needle() : null,
+                ranges);
+    }
+
+    // Substrings of one to five characters, in either case, spanning one-gram to multi-trigram anchors
+    private String needle() {
+        String word = WORDS[random.nextInt(WORDS.length)];
+        int length = 1 + random.nextInt(Math.min(5, word.length()));
+        int start = random.nextInt(word.length() - length + 1);
+        String needle = word.substring(start, start + length);
+        return random.nextBoolean() ? needle.toUpperCase() : needle;
+    }
+
+    private <E extends Enum<E>> E pick(E[] values) {
+        // Keep enum filters rare enough that most searches anchor on text
+        return random.nextInt(3) == 0 ? values[random.nextInt(Math.min(values.length, 3))] : null;
+    }
+
+    private CatalogEntry randomEntry(long id) {
+        PropertySummaryDTO summary = PropertySummaryDTO.builder()
+                .id(id)
+                .title(random.nextInt(5) == 0 ? null : word() + " " + word())
+                .city(random.nextInt(8) == 0 ? null : word())
+                .area(random.nextInt(8) == 0 ? null : word())
+                .purpose(Property.Purpose.values()[random.nextInt(2)])
+                .type(Property.PropertyType.values()[random.nextInt(3)])
+                .availability(Property.AvailabilityStatus.values()[random.nextInt(3)])
+                .bedrooms(random.nextInt(5))
+                .build();
+        return new CatalogEntry(summary, id, random.nextBoolean() ? word() : null, word());
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}